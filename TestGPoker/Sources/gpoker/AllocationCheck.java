@@ -0,0 +1,93 @@
+package gpoker;
+
+import gpoker.modes.GameMode;
+import org.jdom2.Element;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Checks that the hand loop of the dealer allocates nothing in the steady state. A six-handed table of players
+ * without programs is warmed up until the JIT has compiled the loop, then the bytes allocated by the thread over a
+ * number of hands are read from the {@code ThreadMXBean}, and the check fails with exit code 1 if a hand allocates.
+ * <p>
+ * Not every player can sit at the table: the ParametricPlayer records every move it makes in its history, the
+ * HumanPlayer reads its moves from the console, and the TDPlayer trains its network after every move in the Boone
+ * library, so they allocate by design.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class AllocationCheck {
+
+	/** The default players at the table. */
+	private static final String[] PLAYERS = {"CallPlayer", "CheckPlayer", "PatternPlayer", "PatternPlayer", "RandomPlayer", "TestPlayer"};
+
+	/** The players which allocate per hand by design. */
+	private static final List<String> EXCLUDED = Arrays.asList("ParametricPlayer", "HumanPlayer", "TDPlayer");
+
+	/** The default numbers of hands for the warm-up and for the measurement. */
+	private static final int WARMUP_HANDS = 1000000;
+	private static final int HANDS = 100000;
+
+
+	/**
+	 * Plays the hands with the given number of hands and, optionally, the given player classes at the table, and
+	 * prints the bytes allocated per hand.
+	 *
+	 * @param args	the number of hands and the six player classes (optional)
+	 */
+	public static void main(String[] args) {
+
+		int hands = args.length > 0 ? Integer.parseInt(args[0]) : HANDS;
+		String[] players = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : PLAYERS;
+
+		Dealer dealer = new Dealer();
+		dealer.setGameMode(GameMode.create(new Element("GameMode").setAttribute("class", "Doyle")
+				.setAttribute("chipsPerPlayer", "1000").setAttribute("bigBlind", "10").setAttribute("rounds", "1000")));
+		for (int i = 0; i < players.length; i++) {
+			if (EXCLUDED.contains(players[i])) {
+				System.out.println("Illegal player " + players[i] + " (allocates per hand).");
+				System.exit(1);
+			}
+			Player player = Player.create(new Element("Player").setAttribute("class", players[i])
+					.setAttribute("name", players[i] + i));
+			if (player == null) {
+				System.out.println("Illegal player " + players[i] + ".");
+				System.exit(1);
+			}
+			dealer.addPlayer(player);
+		}
+		dealer.start();												// seats the players
+		playHands(dealer, WARMUP_HANDS);
+
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+		long id = Thread.currentThread().getId();
+		long start = bean.getThreadAllocatedBytes(id);
+		playHands(dealer, hands);
+		long bytes = bean.getThreadAllocatedBytes(id) - start;
+
+		System.out.println(Arrays.toString(players) + ": " + bytes + " bytes in " + hands + " hands, " +
+				(double)bytes / hands + " per hand");
+		if (bytes > 0)
+			System.exit(1);
+	}
+
+
+	/**
+	 * Plays the given number of hands at the table of the dealer, each as a round of the game mode.
+	 *
+	 * @param dealer	the dealer
+	 * @param hands		the number of hands
+	 */
+	private static void playHands(Dealer dealer, int hands) {
+
+		for (int i = 0; i < hands; i++) {
+			dealer.playHand();
+			dealer.gameMode.registerRound();
+			dealer.gameMode.resetRound();
+		}
+	}
+
+}
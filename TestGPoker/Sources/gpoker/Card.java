@@ -1,7 +1,8 @@
 package gpoker;
 
 /**
- * Representation of all "french" poker cards.
+ * Representation of all "french" poker cards. There is exactly one instance of each of the 52 cards (and the blank
+ * card), which is obtained by {@link #of(int, int)} or {@link #ofIndex(int)}, so cards may be compared by identity.
  *
  * @author Edgar Ebensperger
  */
@@ -13,6 +14,9 @@ public class Card implements Comparable<Card> {
 	/** Number of suits per deck. */
 	public static final int NUMBER_OF_SUITS = 4;
 
+	/** Number of cards per deck. */
+	public static final int NUMBER_OF_CARDS = NUMBER_OF_SUITS * NUMBER_OF_RANKS;
+
 	/** The card ranks. The strange numbers are for convenience. */
 	public static final int ACE = 12;
 
@@ -58,23 +62,82 @@ public class Card implements Comparable<Card> {
 	/** String representation of all suits. */
 	public static final char[] SUITS = {'c', 'd', 's', 'h'};
 
+	/** All the cards ordered by suit and rank. */
+	private static final Card[] CARDS = new Card[NUMBER_OF_CARDS];
+
+	static {
+		for (int i = 0; i < NUMBER_OF_CARDS; i++)
+			CARDS[i] = new Card(i % NUMBER_OF_RANKS, i / NUMBER_OF_RANKS, i);
+	}
+
+	/** The blank card. */
+	public static final Card BLANK_CARD = new Card(BLANK, BLANK, BLANK);
+
 	/** Rank of the current card. */
 	private final int rank;
 
 	/** Suit of the current card. */
 	private final int suit;
 
+	/** Index of the current card in [0, 51]. */
+	private final int index;
+
 
 	/**
-	 * Constructor with a give rank and suit.
+	 * Constructor with a give rank, suit and index.
 	 *
-	 * @param rank The given rank
-	 * @param suit The given suit
+	 * @param rank 	The given rank
+	 * @param suit 	The given suit
+	 * @param index	The given index
 	 */
-	public Card(int rank, int suit) {
+	private Card(int rank, int suit, int index) {
 
 		this.rank = rank;
 		this.suit = suit;
+		this.index = index;
+	}
+
+
+	/**
+	 * Returns the card with a given rank and suit.
+	 *
+	 * @param rank	the rank
+	 * @param suit	the suit
+	 *
+	 * @return		the card, the blank card for a blank rank or suit
+	 */
+	public static Card of(int rank, int suit) {
+
+		if (rank == BLANK || suit == BLANK)
+			return BLANK_CARD;
+		return CARDS[getIndex(rank, suit)];
+	}
+
+
+	/**
+	 * Returns the card with a given index.
+	 *
+	 * @param index	the index in [0, 51]
+	 *
+	 * @return		the card
+	 */
+	public static Card ofIndex(int index) {
+
+		return CARDS[index];
+	}
+
+
+	/**
+	 * Returns the index of a card given by rank and suit.
+	 *
+	 * @param rank	the rank
+	 * @param suit	the suit
+	 *
+	 * @return		the index in [0, 51]
+	 */
+	public static int getIndex(int rank, int suit) {
+
+		return suit * NUMBER_OF_RANKS + rank;
 	}
 
 
@@ -100,6 +163,17 @@ public class Card implements Comparable<Card> {
 	}
 
 
+	/**
+	 * Returns the index.
+	 *
+	 * @return index in [0, 51], -1 for the blank card.
+	 */
+	public int getIndex() {
+
+		return index;
+	}
+
+
 	/**
 	 * Compares this card rank with the other card rank.  Returns a
 	 * negative integer, zero, or a positive integer as this rank is less
@@ -0,0 +1,258 @@
+package gpoker;
+
+import java.util.List;
+
+/**
+ * A set of cards packed into the bits of a {@code long}. Each suit occupies 16 bits (of which 13 are used), the bit
+ * of a card within the suit is given by its rank. Thus, the rank mask of a suit is just a shift away, and union,
+ * flush and straight detection are a few bit operations. The static methods work on plain {@code long} card sets,
+ * so they may be used without any object allocation.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class CardSet {
+
+	/** The number of bits per suit. */
+	public static final int SUIT_BITS = 16;
+
+	/** The rank mask of all ranks of a suit. */
+	public static final int RANKS = (1 << Card.NUMBER_OF_RANKS) - 1;
+
+	/** The empty card set. */
+	public static final long EMPTY = 0L;
+
+	/** The packed cards. */
+	private long bits;
+
+
+	/** Constructs an empty card set. */
+	public CardSet() {
+
+		bits = EMPTY;
+	}
+
+
+	/**
+	 * Returns the packed cards.
+	 *
+	 * @return	the bits of the cards
+	 */
+	public long getBits() {
+
+		return bits;
+	}
+
+
+	/**
+	 * Adds a card to the set.
+	 *
+	 * @param card	a card
+	 */
+	public void add(Card card) {
+
+		bits |= getBit(card);
+	}
+
+
+	/**
+	 * Adds a list of cards to the set.
+	 *
+	 * @param cards		some cards
+	 */
+	public void addAll(List<Card> cards) {
+
+		for (int i = 0, n = cards.size(); i < n; i++)
+			bits |= getBit(cards.get(i));
+	}
+
+
+	/**
+	 * Adds all cards of another set to this set.
+	 *
+	 * @param other		a card set
+	 */
+	public void addAll(CardSet other) {
+
+		bits |= other.bits;
+	}
+
+
+	/**
+	 * Checks if the set contains a card.
+	 *
+	 * @param card	a card
+	 *
+	 * @return		true, if the card is in the set
+	 */
+	public boolean contains(Card card) {
+
+		return (bits & getBit(card)) != 0;
+	}
+
+
+	/**
+	 * Returns the number of cards in the set.
+	 *
+	 * @return	the number of cards
+	 */
+	public int size() {
+
+		return Long.bitCount(bits);
+	}
+
+
+	/** Removes all cards from the set. */
+	public void clear() {
+
+		bits = EMPTY;
+	}
+
+
+	/**
+	 * Adds the cards of the set to a list ordered by suit and rank.
+	 *
+	 * @param cards		a list to put cards into
+	 */
+	public void toList(List<Card> cards) {
+
+		for (int suit = 0; suit < Card.NUMBER_OF_SUITS; suit++) {
+			int mask = getSuitMask(bits, suit);
+			while (mask != 0) {
+				int rank = Integer.numberOfTrailingZeros(mask);
+				cards.add(Card.of(rank, suit));
+				mask &= mask - 1;
+			}
+		}
+	}
+
+
+	/**
+	 * Returns the bit of a card.
+	 *
+	 * @param card	a card
+	 *
+	 * @return		the card set with the single card
+	 */
+	public static long getBit(Card card) {
+
+		return getBit(card.getRank(), card.getSuit());
+	}
+
+
+	/**
+	 * Returns the bit of a card given by rank and suit.
+	 *
+	 * @param rank	the rank of the card
+	 * @param suit  the suit of the card
+	 *
+	 * @return		the card set with the single card
+	 */
+	public static long getBit(int rank, int suit) {
+
+		return 1L << suit * SUIT_BITS + rank;
+	}
+
+
+	/**
+	 * Returns the rank mask of a suit, i.e., the bit of each rank of the suit in the set is set.
+	 *
+	 * @param bits		a card set
+	 * @param suit		a suit
+	 *
+	 * @return			the rank mask
+	 */
+	public static int getSuitMask(long bits, int suit) {
+
+		return (int)(bits >>> suit * SUIT_BITS) & RANKS;
+	}
+
+
+	/**
+	 * Returns the rank mask of all suits, i.e., the bit of each rank present in the set is set.
+	 *
+	 * @param bits		a card set
+	 *
+	 * @return			the rank mask
+	 */
+	public static int getRankMask(long bits) {
+
+		return (int)(bits | bits >>> SUIT_BITS | bits >>> 2 * SUIT_BITS | bits >>> 3 * SUIT_BITS) & RANKS;
+	}
+
+
+	/**
+	 * Returns the suit having at least five cards in the set.
+	 *
+	 * @param bits		a card set
+	 *
+	 * @return			the flush suit, -1 if none
+	 */
+	public static int getFlushSuit(long bits) {
+
+		for (int suit = 0; suit < Card.NUMBER_OF_SUITS; suit++) {
+			if (Integer.bitCount(getSuitMask(bits, suit)) >= 5)
+				return suit;
+		}
+		return -1;
+	}
+
+
+	/**
+	 * Returns the top rank of the highest straight in the set.
+	 *
+	 * @param bits		a card set
+	 *
+	 * @return			the top rank of the straight, -1 if none
+	 */
+	public static int getStraightRank(long bits) {
+
+		return LookupEvaluator.getStraightRank(getRankMask(bits));
+	}
+
+
+	/**
+	 * Returns the highest rank in the set.
+	 *
+	 * @param bits		a non-empty card set
+	 *
+	 * @return			the highest rank
+	 */
+	public static int getHighRank(long bits) {
+
+		return 31 - Integer.numberOfLeadingZeros(getRankMask(bits));
+	}
+
+
+	/**
+	 * Returns the lowest rank in the set.
+	 *
+	 * @param bits		a non-empty card set
+	 *
+	 * @return			the lowest rank
+	 */
+	public static int getLowRank(long bits) {
+
+		return Integer.numberOfTrailingZeros(getRankMask(bits));
+	}
+
+
+	/**
+	 * Returns the string representation of the set.
+	 *
+	 * @return	the cards ordered by suit and rank
+	 */
+	public String toString() {
+
+		String s = "";
+
+		for (int suit = 0; suit < Card.NUMBER_OF_SUITS; suit++) {
+			for (int rank = 0; rank < Card.NUMBER_OF_RANKS; rank++) {
+				if ((bits & getBit(rank, suit)) != 0)
+					s += (s.length() > 0 ? " " : "") + Card.RANKS[rank] + Card.SUITS[suit];
+			}
+		}
+		return s;
+	}
+
+}
@@ -0,0 +1,206 @@
+package gpoker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A corpus of shuffled decks identified by a seed. Decks replaying the corpus deal the same cards in the same order,
+ * so players evaluated on the corpus play exactly the same hands (common random numbers), which removes the luck of
+ * the deal from the comparison of players.
+ * <p>
+ * The corpus is generated once and saved in a binary file (e.g., 'deals-42-100000.bin' in the working directory),
+ * which is memory-mapped and shared by all decks of the program. A corpus file with a wrong header is generated again.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class DealCorpus {
+
+	/** The magic number and version of the file format. */
+	private static final int MAGIC = 0x47504443;
+	private static final int VERSION = 1;
+
+	/** The size of the header holding magic number, version, seed, and number of decks. */
+	private static final int HEADER = 20;
+
+	/** The maximal number of decks, so the file can be mapped as a whole. */
+	public static final int MAX_DECKS = (Integer.MAX_VALUE - HEADER) / Card.NUMBER_OF_CARDS;
+
+	/** The corpora opened so far by file name. */
+	private static final Map<String, DealCorpus> corpora = new HashMap<>();
+
+	/** The seed of the corpus. */
+	private final long seed;
+
+	/** The number of decks. */
+	private final int size;
+
+	/** The decks following the header. */
+	private final ByteBuffer decks;
+
+
+	/**
+	 * Constructs a corpus.
+	 *
+	 * @param seed		the seed
+	 * @param size		the number of decks
+	 * @param decks		the decks including the header
+	 */
+	private DealCorpus(long seed, int size, ByteBuffer decks) {
+
+		this.seed = seed;
+		this.size = size;
+		this.decks = decks;
+	}
+
+
+	/**
+	 * Returns the corpus of a seed. A corpus already opened is shared, a valid corpus file is loaded, otherwise the
+	 * corpus is generated and saved.
+	 *
+	 * @param seed		the seed
+	 * @param size		the number of decks
+	 *
+	 * @return			the corpus, null if the size is not positive or too large, or the file cannot be accessed
+	 */
+	public static synchronized DealCorpus open(long seed, int size) {
+
+		if (size <= 0 || size > MAX_DECKS) {
+			System.out.println("Illegal size " + size + " of deal corpus.");
+			return null;
+		}
+		String fileName = "deals-" + seed + "-" + size + ".bin";
+		DealCorpus corpus = corpora.get(fileName);
+
+		if (corpus == null) {
+			corpus = load(fileName, seed, size);
+			if (corpus == null) {
+				generate(fileName, seed, size);
+				corpus = load(fileName, seed, size);
+			}
+			if (corpus != null)
+				corpora.put(fileName, corpus);
+		}
+		return corpus;
+	}
+
+
+	/**
+	 * Loads a corpus by memory-mapping its file.
+	 *
+	 * @param fileName	the name of the file
+	 * @param seed		the seed
+	 * @param size		the number of decks
+	 *
+	 * @return			the corpus, null if there is no valid file
+	 */
+	private static DealCorpus load(String fileName, long seed, int size) {
+
+		File file = new File(fileName);
+		if (!file.exists() || file.length() != HEADER + (long)size * Card.NUMBER_OF_CARDS)
+			return null;
+
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			ByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getLong(8) != seed
+					|| buffer.getInt(16) != size)
+				return null;
+			return new DealCorpus(seed, size, buffer);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+
+	/**
+	 * Generates a corpus and saves it to a file. The decks are shuffled one after the other by the Fisher-Yates
+	 * algorithm with a random number generator seeded by the seed, hence the corpus only depends on the seed.
+	 *
+	 * @param fileName	the name of the file
+	 * @param seed		the seed
+	 * @param size		the number of decks
+	 */
+	private static void generate(String fileName, long seed, int size) {
+
+		Random random = new Random(seed);
+		byte[] cards = new byte[Card.NUMBER_OF_CARDS];
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER + size * Card.NUMBER_OF_CARDS);
+
+		buffer.putInt(MAGIC).putInt(VERSION).putLong(seed).putInt(size);
+		for (int i = 0; i < cards.length; i++)
+			cards[i] = (byte)i;
+		for (int deck = 0; deck < size; deck++) {
+			for (int i = Card.NUMBER_OF_CARDS - 1; i > 0; i--) {
+				int pos = random.nextInt(i + 1);								// pos in [0, i]
+				byte temp = cards[pos];
+				cards[pos] = cards[i];
+				cards[i] = temp;
+			}
+			buffer.put(cards);
+		}
+		buffer.flip();
+
+		try (RandomAccessFile raf = new RandomAccessFile(fileName, "rw")) {
+			raf.setLength(0);
+			raf.getChannel().write(buffer);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+
+	/**
+	 * Copies a deck of the corpus. The index wraps around at the end of the corpus.
+	 *
+	 * @param index		the index of the deck
+	 * @param cards		the card indices of the deck
+	 */
+	public void copy(long index, byte[] cards) {
+
+		int offset = HEADER + (int)Math.floorMod(index, (long)size) * Card.NUMBER_OF_CARDS;
+
+		for (int i = 0; i < Card.NUMBER_OF_CARDS; i++)
+			cards[i] = decks.get(offset + i);								// absolute reads, shared by threads
+	}
+
+
+	/**
+	 * Returns the seed of the corpus.
+	 *
+	 * @return	the seed
+	 */
+	public long getSeed() {
+
+		return seed;
+	}
+
+
+	/**
+	 * Returns the number of decks of the corpus.
+	 *
+	 * @return	the number of decks
+	 */
+	public int getSize() {
+
+		return size;
+	}
+
+
+	/**
+	 * The string representation of the corpus.
+	 *
+	 * @return	a string identifying the corpus
+	 */
+	public String toString() {
+
+		return "corpus" + seed + "x" + size;
+	}
+
+}
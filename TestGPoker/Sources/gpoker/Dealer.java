@@ -1,5 +1,6 @@
 package gpoker;
 
+import gpoker.misc.RandomStream;
 import gpoker.misc.Utilities;
 import gpoker.misc.Xml;
 import gpoker.modes.GameMode;
@@ -7,6 +8,7 @@ import org.jdom2.Element;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 /**
  * The dealer handles the play of each hand. It defines the order of play, checks the moves of the players, keeps an
@@ -31,12 +33,21 @@ public class Dealer {
 	/** Community cards. */
 	protected final List<Card> community;
 
+	/** Community cards packed into a card set. */
+	protected final CardSet communitySet;
+
+	/** The value of the community cards, evaluated once per stage. */
+	protected int communityValue;
+
 	/** ALL players on the table. Includes all-in, fold, broke, active players. */
 	protected final List<Player> players;
 
 	/** All active Players who are currently playing the hand. Includes only All-in and active players. */
 	protected final List<Player> activePlayers;
 
+	/** The seats of the active players for navigation. */
+	protected final SeatRing ring;
+
 	/** The player with the dealer button. */
 	protected Player button;
 
@@ -58,6 +69,24 @@ public class Dealer {
 	/** The game mode. */
 	protected GameMode gameMode;
 
+	/** The context of the table. */
+	protected TableContext table;
+
+	/** The context of the current decision shared by all players. */
+	protected final DecisionContext context;
+
+	/** Indicates that the pot of an all-in hand is paid by the expected equity of the players. */
+	protected boolean allInEV;
+
+	/** The maximal number of boards of an all-in equity. If there are more boards, this number is sampled. */
+	protected int allInSamples = 1000;
+
+	/** The random number generator sampling the boards of an all-in equity, split off the table on first demand. */
+	private Random equityRandom;
+
+	/** The chips of each player paid by equity in the current hand, null if the hand is paid by the show down. */
+	private int[] equity;
+
 	/**
 	 * Constructor via XML config-file.
 	 *
@@ -68,6 +97,17 @@ public class Dealer {
 		this();
 		boolean dup = Xml.getProperty(element, "duplicateHands", false);
 		deck.setDuplicate(dup);
+		String corpus = Xml.getProperty(element, "dealCorpus", null);
+		if (corpus != null)
+			deck.replay(DealCorpus.open(Long.parseLong(corpus.trim()), Xml.getProperty(element, "corpusSize", 100000)));
+		String evaluatorName = Xml.getProperty(element, "evaluator", "LookupEvaluator");
+		Evaluator configured = Evaluator.create(evaluatorName);
+		if (configured == null)
+			System.out.println("Illegal evaluator '" + evaluatorName + "', using " + evaluator.getClass().getSimpleName() + ".");
+		else
+			evaluator = configured;
+		allInEV = Xml.getProperty(element, "allInEV", false);
+		allInSamples = Math.max(1, Xml.getProperty(element, "allInSamples", allInSamples));
 	}
 
 
@@ -79,10 +119,14 @@ public class Dealer {
 
 		players = new ArrayList<>();
 		activePlayers = new ArrayList<>();
+		ring = new SeatRing();
 		winners = new ArrayList<>(1);
 		deck = new Deck();
 		community = new ArrayList<>(5);
-		evaluator = new TexasEvaluator();
+		communitySet = new CardSet();
+		evaluator = new LookupEvaluator();
+		context = new DecisionContext(this);
+		setTable(new TableContext(this, new Reporter(null), new RandomStream()));
 	}
 
 
@@ -157,6 +201,39 @@ public class Dealer {
 	}
 
 
+	/**
+	 * Returns the community cards of the table packed into a card set.
+	 *
+	 * @return The community card set.
+	 */
+	public CardSet getCommunitySet() {
+
+		return communitySet;
+	}
+
+
+	/**
+	 * Returns the value of the community cards of the current stage.
+	 *
+	 * @return The community value, {@code Hand.NOT_EVALUATED} before the flop.
+	 */
+	public int getCommunityValue() {
+
+		return communityValue;
+	}
+
+
+	/**
+	 * Returns the context of the current decision, i.e., the table as seen by the player to move.
+	 *
+	 * @return The decision context.
+	 */
+	public DecisionContext getContext() {
+
+		return context;
+	}
+
+
 	/** Returns the current pot. */
 	public int getPot() {
 
@@ -213,6 +290,31 @@ public class Dealer {
 	public void setGameMode(GameMode gameMode) {
 
 		this.gameMode = gameMode;
+		gameMode.setDealer(this);
+	}
+
+
+	/** Returns the context of the table.
+	 *
+	 * @return	the table context
+	 */
+	public TableContext getTable() {
+
+		return table;
+	}
+
+
+	/** Sets the context of the table. The deck is shuffled by the random number generator of the table, and the next
+	 * game starts with the first player as dealer, so a dealer with a new table context plays like a new dealer.
+	 *
+	 * @param table	the table context of this dealer
+	 */
+	public void setTable(TableContext table) {
+
+		this.table = table;
+		deck.setRandom(table.getRandom());
+		equityRandom = null;
+		button = null;
 	}
 
 
@@ -227,12 +329,49 @@ public class Dealer {
 	}
 
 
-	/** Starts a complete game and returns the winner.
+	/** Returns the corpus of decks replayed by this dealer.
+	 *
+	 * @return	the corpus, null if the deck is shuffled
+	 */
+	public DealCorpus getCorpus() {
+
+		return deck.getCorpus();
+	}
+
+
+	/** Sets the index of the first deck of the corpus replayed in each game.
+	 *
+	 * @param start		the index of a deck of the corpus
+	 */
+	public void setCorpusStart(long start) {
+
+		deck.setStart(start);
+	}
+
+
+	/** Returns the index of the first deck of the corpus replayed in each game.
+	 *
+	 * @return		the index of a deck of the corpus
+	 */
+	public long getCorpusStart() {
+
+		return deck.getStart();
+	}
+
+
+	/** Starts a complete game and returns the winner. With a corpus of decks each game replays the same decks from
+	 * the same button, so all players at the seats get the same cards.
 	 *
 	 * @return	the winner
 	 */
 	public Player start() {
 
+		for (Player player : players)
+			player.setTable(table);
+		if (deck.getCorpus() != null) {
+			deck.rewind();
+			button = null;										// first player is dealer
+		}
 		gameMode.reset();
 
 		while (!gameMode.isGameOver()) {
@@ -274,22 +413,232 @@ public class Dealer {
 		player = getNextPlayer(player);
 		pot += player.postBlind(gameMode.getBigBlind());			// big blind
 		betLevel = gameMode.getBigBlind();
-		Director.getInstance().getReporter().reportPlayerStatus();
+		table.getReporter().reportPlayerStatus(this);
 
 		for (int i = 0; i < 4; i++) {								// maximally four rounds
 			if (!doBettingRound(player))
 				break;                                      		// hand is finished
-			for (Player p : activePlayers)
-				p.setStageBets(0);
+			for (int j = 0, n = activePlayers.size(); j < n; j++)
+				activePlayers.get(j).setStageBets(0);
 			betLevel = 0;
+			if (i < 3 && !hasDecisions()) {
+				runOut();											// no more bets
+				break;
+			}
 			++stage;
 			if (i == 0)
 				dealCommunityCards(3);							// flop
 			else if (i < 3)
 				dealCommunityCards(1);							// turn, river
-			Director.getInstance().getReporter().reportPlayerStatus();
+			table.getReporter().reportPlayerStatus(this);
+		}
+		if (equity != null)
+			payEquity();
+		else
+			showDown();
+	}
+
+
+	/** Checks if there are decisions left in the hand, i.e., at least two active players have chips to bet.
+	 *
+	 * @return		true, if players still may bet
+	 */
+	protected boolean hasDecisions() {
+
+		int count = 0;
+
+		for (int i = 0, n = activePlayers.size(); i < n; i++) {
+			if (activePlayers.get(i).hasChips() && ++count == 2)
+				return true;
+		}
+		return false;
+	}
+
+
+	/** Deals the remaining community cards at once, as there are no more bets. With all-in equity (if the game mode
+	 * allows it) the equities of the players are computed before, and the pot is paid by them instead of the board
+	 * dealt. */
+	protected void runOut() {
+
+		if (allInEV && gameMode.isEquityPaid())
+			equity = computeEquity();
+		stage = RIVER;
+		dealCommunityCards(5 - community.size());
+		table.getReporter().reportPlayerStatus(this);
+	}
+
+
+	/** Computes the chips each player gets on average over all possible boards completing the community cards. If
+	 * there are more than {@code allInSamples} boards, this number of boards is sampled. The hole cards of the
+	 * active players and the community cards are known, all other cards may be dealt. The average chips are rounded,
+	 * so that they add up to the pot.
+	 *
+	 * @return		the chips of each player at the table
+	 */
+	protected int[] computeEquity() {
+
+		int missing = 5 - community.size();
+		long known = communitySet.getBits();
+		for (int i = 0, n = activePlayers.size(); i < n; i++)
+			known |= activePlayers.get(i).getHand().getCardSet().getBits();
+
+		Card[] unseen = new Card[Card.NUMBER_OF_CARDS];
+		int count = 0;
+		for (int i = 0; i < Card.NUMBER_OF_CARDS; i++) {
+			Card card = Card.ofIndex(i);
+			if ((known & CardSet.getBit(card)) == 0)
+				unseen[count++] = card;
 		}
-		showDown();
+
+		double[] chips = new double[players.size()];
+		List<Card> board = new ArrayList<>(community);
+		long boards = 1;
+		for (int i = 0; i < missing; i++)
+			boards = boards * (count - i) / (i + 1);
+
+		if (boards <= allInSamples)
+			enumerateBoards(unseen, count, 0, missing, board, chips);
+		else {
+			if (equityRandom == null)
+				equityRandom = RandomStream.split(table.getRandom());
+			for (int s = 0; s < allInSamples; s++) {
+				for (int i = 0; i < missing; i++) {						// partial Fisher-Yates
+					int pos = i + equityRandom.nextInt(count - i);
+					Card temp = unseen[pos];
+					unseen[pos] = unseen[i];
+					unseen[i] = temp;
+					board.add(unseen[i]);
+				}
+				shareBoard(board, chips);
+				board.subList(community.size(), board.size()).clear();
+			}
+			boards = allInSamples;
+		}
+
+		int[] paid = new int[chips.length];
+		double[] remainder = new double[chips.length];
+		int rest = pot;
+		for (int i = 0; i < chips.length; i++) {
+			double share = chips[i] / boards;
+			paid[i] = (int)Math.floor(share);
+			remainder[i] = share - paid[i];
+			rest -= paid[i];
+		}
+		for (; rest > 0; rest--) {											// largest remainders get the rest
+			int max = 0;
+			for (int i = 1; i < remainder.length; i++) {
+				if (remainder[i] > remainder[max])
+					max = i;
+			}
+			++paid[max];
+			remainder[max] = -1.0;
+		}
+		return paid;
+	}
+
+
+	/** Enumerates all boards completing the community cards and adds the chips of each player on each board.
+	 *
+	 * @param unseen	the cards, which may be dealt
+	 * @param count		the number of unseen cards
+	 * @param from		the index of the first unseen card to be dealt next
+	 * @param missing	the number of cards missing on the board
+	 * @param board		the board so far
+	 * @param chips		the chips of each player at the table
+	 */
+	private void enumerateBoards(Card[] unseen, int count, int from, int missing, List<Card> board, double[] chips) {
+
+		if (missing == 0) {
+			shareBoard(board, chips);
+			return;
+		}
+		for (int i = from; i <= count - missing; i++) {
+			board.add(unseen[i]);
+			enumerateBoards(unseen, count, i + 1, missing - 1, board, chips);
+			board.remove(board.size() - 1);
+		}
+	}
+
+
+	/** Adds the chips of each player on a complete board. The pot is split in side pots by the bets of the active
+	 * players, and each side pot is shared by the best hands of the players, who have bet at least its level.
+	 *
+	 * @param board		a complete board
+	 * @param chips		the chips of each player at the table
+	 */
+	private void shareBoard(List<Card> board, double[] chips) {
+
+		CardSet set = new CardSet();
+		set.addAll(board);
+		for (int i = 0, n = activePlayers.size(); i < n; i++)
+			evaluator.evaluate(activePlayers.get(i).getHand(), set);
+
+		int level = 0;
+		int paid = 0;
+		while (true) {
+			int next = Integer.MAX_VALUE;										// the next level of the bets
+			for (int i = 0, n = activePlayers.size(); i < n; i++) {
+				int bets = activePlayers.get(i).getBetsPerHand();
+				if (bets > level && bets < next)
+					next = bets;
+			}
+			if (next == Integer.MAX_VALUE)
+				break;
+			int sidePot = 0;
+			for (int i = 0, n = players.size(); i < n; i++) {
+				int bets = players.get(i).getBetsPerHand();
+				sidePot += Math.max(0, Math.min(bets, next) - level);
+			}
+			winners.clear();
+			for (int i = 0, n = activePlayers.size(); i < n; i++) {
+				Player player = activePlayers.get(i);
+				if (player.getBetsPerHand() < next)
+					continue;
+				int better = winners.isEmpty() ? 1 : compare(player.getHand(), winners.get(0).getHand(), board);
+				if (better > 0)
+					winners.clear();
+				if (better >= 0)
+					winners.add(player);
+			}
+			for (int i = 0, n = winners.size(); i < n; i++)
+				chips[players.indexOf(winners.get(i))] += (double)sidePot / n;
+			paid += sidePot;
+			level = next;
+		}
+		if (paid < pot) {																// should not happen
+			for (int i = 0, n = winners.size(); i < n; i++)
+				chips[players.indexOf(winners.get(i))] += (double)(pot - paid) / n;
+		}
+	}
+
+
+	/** Compares two evaluated hands.
+	 *
+	 * @param hand1		first hand
+	 * @param hand2		second hand
+	 * @param board		the community cards
+	 *
+	 * @return			positive, if the first hand is better, negative, if the second one is, 0 if equal
+	 */
+	private int compare(Hand hand1, Hand hand2, List<Card> board) {
+
+		if (hand1.getValue() != hand2.getValue())
+			return hand1.getValue() > hand2.getValue() ? 1 : -1;
+		int winner = evaluator.resolve(hand1, hand2, board);
+		return winner == 0 ? 0 : winner == 1 ? 1 : -1;
+	}
+
+
+	/** Pays the pot by the all-in equities of the players after showing down the board dealt. */
+	protected void payEquity() {
+
+		table.getReporter().reportShowDown(activePlayers, community);
+		for (int i = 0, n = players.size(); i < n; i++) {
+			if (equity[i] > 0)
+				players.get(i).win(equity[i]);
+		}
+		pot = 0;
+		equity = null;
 	}
 
 
@@ -311,7 +660,7 @@ public class Dealer {
 
 		while (player.hasMove()) {
 			if (player.hasChips()) {
-				Move move = player.act();
+				Move move = requestMove(player);
 
 				if (!player.isTrusted() || move.getType() == Move.RAISE)
 					checkMove(player, move);						// is it allowed?
@@ -321,7 +670,7 @@ public class Dealer {
 					return false;                                    // end of hand
 			}
 			else
-				Director.getInstance().getReporter().reportAllIn(player);
+				table.getReporter().reportAllIn(player);
 			player.setMove(false);									// has had its right to move
 			player = getNextPlayer(player);
 		}
@@ -329,11 +678,25 @@ public class Dealer {
 	}
 
 
+	/**
+	 * Requests the next move of a player after updating the decision context.
+	 *
+	 * @param player	the player to move
+	 *
+	 * @return			the move announced by the player
+	 */
+	protected Move requestMove(Player player) {
+
+		context.update(player);
+		return player.act();
+	}
+
+
 	/** Allows a move for all active players. */
 	protected void allowMoves() {
 
-		for (Player p : activePlayers)
-			p.setMove(true);
+		for (int i = 0, n = activePlayers.size(); i < n; i++)
+			activePlayers.get(i).setMove(true);
 	}
 
 
@@ -397,10 +760,10 @@ public class Dealer {
 				allowMoves();										// all active players may react to the raise
 				break;
 			case Move.FOLD:
-				activePlayers.remove(player);
+				deactivate(player);
 				break;
 		}
-		Director.getInstance().getReporter().reportMove(player, move);
+		table.getReporter().reportMove(player, move);
 	}
 
 
@@ -412,9 +775,8 @@ public class Dealer {
 			pot = 0;										// all paid out
 			return;
 		}
-		for (Player player : activePlayers)    				// evaluate hands
-			evaluate(player.getHand());
-		Director.getInstance().getReporter().reportShowDown(activePlayers, community);	// show down hands
+		// hands have been evaluated, when the river was dealt
+		table.getReporter().reportShowDown(activePlayers, community);	// show down hands
 
 		while (pot > 0) {                                   // still some chips to distribute
 
@@ -429,7 +791,8 @@ public class Dealer {
 			int bestHand = Hand.NOT_EVALUATED;
 			winners.clear();
 
-			for (Player player : activePlayers) {				// evaluate winner(s)
+			for (int i = 0, n = activePlayers.size(); i < n; i++) {	// evaluate winner(s)
+				Player player = activePlayers.get(i);
 				int nextHand = player.getHand().getValue();
 				if (nextHand < bestHand)
 					continue;
@@ -457,13 +820,15 @@ public class Dealer {
 			Player minWinner = winners.get(0);
 			int minBet = minWinner.getBetsPerHand();							// the minimal bet of the winners
 
-			for (Player p : winners) {                                          // handles potential side pots
+			for (int i = 0, n = winners.size(); i < n; i++) {                // handles potential side pots
+				Player p = winners.get(i);
 				if (p.getBetsPerHand() < minBet)
 					minBet = p.getBetsPerHand();
 					minWinner = p;                                              // min winner has contributed the least
 			}
 			int wins = 0;
-			for (Player p : players) {											// calculate wins
+			for (int i = 0, n = players.size(); i < n; i++) {					// calculate wins
+				Player p = players.get(i);
 				if (p.hasBet()) {                                               // has bet in round?
 					int win = Math.min(p.getBetsPerHand(), minBet);				// players contribute max the min bet
 					p.subBetsPerHand(win);
@@ -471,11 +836,12 @@ public class Dealer {
 				}
 			}
 			int winShare = getWinShare(wins, winners.size());					// handles potential split pots
-			for (Player p : winners) {
+			for (int i = 0, n = winners.size(); i < n; i++) {
+				Player p = winners.get(i);
 				pot -= winShare;                                                // distribute the share among winners
 				p.win(winShare);
 			}
-			activePlayers.remove(minWinner);									// this one is not in next side pot
+			deactivate(minWinner);												// this one is not in next side pot
 		}
 		if (pot != 0)
 			System.err.println("Panic! The empty pot has " + pot + " chips.");  // should not happen
@@ -505,7 +871,8 @@ public class Dealer {
 
 
 	/**
-	 * Evaluates a hand.
+	 * Evaluates a hand with the current community cards. The evaluation is cached in the hand, hence any further call
+	 * in the same stage just returns the cached value.
 	 *
 	 * @param hand		the hand to be evaluated
 	 *
@@ -513,12 +880,44 @@ public class Dealer {
 	 */
 	public int evaluate(Hand hand) {
 
-		evaluator.evaluate(hand, community);
+		long community = communitySet.getBits();
+
+		if (!hand.isEvaluatedWith(community)) {
+			evaluator.evaluate(hand, communitySet);
+			hand.setEvaluatedWith(community);
+		}
 		return hand.getValue();
 	}
 
 
-	/** Returns the tie break value of two hands, which already have been evaluated.
+	/**
+	 * Returns the pivot card of a hand with the current community cards. The pivot is cached in the hand along with
+	 * its evaluation.
+	 *
+	 * @param hand		a hand
+	 *
+	 * @return 			the pivot card
+	 */
+	public Card getPivot(Hand hand) {
+
+		evaluate(hand);
+		if (hand.getPivot() == null)
+			hand.setPivot(evaluator.getPivot(hand, communitySet));
+		return hand.getPivot();
+	}
+
+
+	/** Evaluates the hands of all active players with the current community cards. This is done once per stage, so
+	 * all further queries of hand values (including show down) are answered from the cache. */
+	protected void evaluateHands() {
+
+		for (int i = 0, n = activePlayers.size(); i < n; i++)
+			evaluate(activePlayers.get(i).getHand());
+	}
+
+
+	/** Returns the tie break value of two hands, which already have been evaluated. With a ranking evaluator
+	 * (e.g. {@code LookupEvaluator}) this is a simple comparison of the hand ranks.
 	 *
 	 * @param hand1		first hand
 	 * @param hand2     second hand
@@ -535,40 +934,50 @@ public class Dealer {
 	protected void prepareHand() {
 
 		community.clear();
+		communitySet.clear();
+		communityValue = Hand.NOT_EVALUATED;
+		context.resetHand();
 		betLevel = 0;
 		pot = 0;
 		stage = PRE_FLOP;
 		activePlayers.clear();
-		for (Player player : players) {
+		for (int i = 0, n = players.size(); i < n; i++) {
+			Player player = players.get(i);
 			player.resetHand();							// keep it here!
 			if (player.hasChips())
 				activePlayers.add(player);
 		}
+		ring.seat(players);
 		button = getNextPlayer(button);                	// next active is now dealer
-		deck.shuffle();
-		Director.getInstance().getReporter().reportStage();
+		ring.setButton(button);
+		deck.shuffle(activePlayers.size());
+		table.getReporter().reportStage(this);
+	}
+
+
+	/**
+	 * Removes a player from the active players of the hand.
+	 *
+	 * @param player	an active player
+	 */
+	protected void deactivate(Player player) {
+
+		activePlayers.remove(player);
+		ring.deactivate(player);
 	}
 
 
 	/**
 	 * Rotate to the next active player.
 	 *
-	 * @param player	the current active player
+	 * @param player	the current player, which need not be active
 	 *
 	 * @return 			the next active player
 	 *
 	 */
 	protected Player getNextPlayer(Player player) {
 
-		int pos = players.indexOf(player);				// may be -1, but it still works
-
-		do {
-			pos = ++pos % players.size();
-			player = players.get(pos);
-		}
-		while (!activePlayers.contains(player));
-
-		return player;
+		return ring.getNext(player);
 	}
 
 
@@ -579,20 +988,9 @@ public class Dealer {
 	 *
 	 * @return          the position, -1 if given player is not active
 	 */
-	public int getPosition(Player player) {		// TODO improve by having activePlayers start with button
-
-		if (player == button)
-			return 0;
-		int pos = 1;
-		Player p = getNextPlayer(button);
+	public int getPosition(Player player) {
 
-		while (p != player) {
-			p = getNextPlayer(p);
-			++pos;
-			if (pos > activePlayers.size())
-				return -1;										// not in active players
-		}
-		return pos;
+		return ring.getPosition(player);
 	}
 
 
@@ -617,8 +1015,8 @@ public class Dealer {
 
 		int sum = 0;
 
-		for (Player player : players)
-			sum += player.getChips();
+		for (int i = 0, n = players.size(); i < n; i++)
+			sum += players.get(i).getChips();
 
 		return sum + pot;
 	}
@@ -633,8 +1031,9 @@ public class Dealer {
 		Player player = button;
 		do {
 			player = getNextPlayer(player);
-			deck.draw(numberOfCards, player.getCards());
+			deck.draw(numberOfCards, player.getHand());
 		} while (player != button);
+		evaluateHands();
 	}
 
 
@@ -645,8 +1044,10 @@ public class Dealer {
 	 */
 	protected void dealCommunityCards(int numberOfCards) {
 
-		deck.draw(numberOfCards, community);
-		Director.getInstance().getReporter().reportStage();
+		deck.draw(numberOfCards, community, communitySet);
+		communityValue = evaluator.evaluate(communitySet);
+		evaluateHands();
+		table.getReporter().reportStage(this);
 	}
 
 
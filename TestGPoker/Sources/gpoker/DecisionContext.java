@@ -0,0 +1,232 @@
+package gpoker;
+
+/**
+ * A read-only snapshot of the table as seen by the player to make the next move. The dealer updates the context
+ * before each request for a move, and all players may read their inputs from it. Quantities being more expensive
+ * (total chips, position, hand value, pivot, hand strength) are only computed on the first request and then cached,
+ * the total chips for the whole hand (as chips only move between stacks and pot), the others for the current decision.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class DecisionContext {
+
+	/** Indicates a quantity not computed yet. */
+	private static final int UNKNOWN = Integer.MIN_VALUE;
+
+	/** The dealer of the table. */
+	private final Dealer dealer;
+
+	/** The player to move. */
+	private Player player;
+
+	/** The stage of the hand. */
+	private int stage;
+
+	/** The pot. */
+	private int pot;
+
+	/** The bet of the player for a call. */
+	private int callBet;
+
+	/** The total chips on the table. */
+	private int totalChips;
+
+	/** The position of the player. */
+	private int position;
+
+	/** The hand value of the player. */
+	private int handValue;
+
+	/** The pivot card of the player. */
+	private Card pivot;
+
+	/** The hand strength of the player against the active opponents. */
+	private double strength;
+
+	/** The hand strength and potentials of the player against one opponent. */
+	private float[] potentials;
+
+
+	/**
+	 * Constructs the context of a dealer.
+	 *
+	 * @param dealer	the dealer
+	 */
+	public DecisionContext(Dealer dealer) {
+
+		this.dealer = dealer;
+		totalChips = UNKNOWN;
+	}
+
+
+	/** Prepares the context for a new hand. */
+	void resetHand() {
+
+		player = null;
+		totalChips = UNKNOWN;
+	}
+
+
+	/**
+	 * Updates the context for the next move of a player.
+	 *
+	 * @param player	the player to move
+	 */
+	void update(Player player) {
+
+		this.player = player;
+		stage = dealer.getStage();
+		pot = dealer.getPot();
+		callBet = dealer.getCallBet(player);
+		position = UNKNOWN;
+		handValue = UNKNOWN;
+		pivot = null;
+		potentials = null;
+	}
+
+
+	/** Returns the player to move.
+	 *
+	 * @return	the player
+	 */
+	public Player getPlayer() {
+
+		return player;
+	}
+
+
+	/** Returns the stage of the hand.
+	 *
+	 * @return	the stage, e.g. {@code Dealer.FLOP}
+	 */
+	public int getStage() {
+
+		return stage;
+	}
+
+
+	/** Returns the pot.
+	 *
+	 * @return	the pot
+	 */
+	public int getPot() {
+
+		return pot;
+	}
+
+
+	/** Returns the bet the player has to make for a call.
+	 *
+	 * @return	the bet for a call
+	 */
+	public int getCallBet() {
+
+		return callBet;
+	}
+
+
+	/** Returns the total chip count of all players including the pot.
+	 *
+	 * @return	the total chips
+	 */
+	public int getTotalChips() {
+
+		if (totalChips == UNKNOWN)
+			totalChips = dealer.getTotalChips();
+		return totalChips;
+	}
+
+
+	/** Returns the position of the player, where the dealer position is 0.
+	 *
+	 * @return	the position, -1 if the player is not active
+	 */
+	public int getPosition() {
+
+		if (position == UNKNOWN)
+			position = dealer.getPosition(player);
+		return position;
+	}
+
+
+	/** Returns the value of the community cards.
+	 *
+	 * @return	the community value, {@code Hand.NOT_EVALUATED} before the flop
+	 */
+	public int getCommunityValue() {
+
+		return dealer.getCommunityValue();
+	}
+
+
+	/** Returns the value of the player's hand with the community cards.
+	 *
+	 * @return	the hand value
+	 */
+	public int getHandValue() {
+
+		if (handValue == UNKNOWN)
+			handValue = dealer.evaluate(player.getHand());
+		return handValue;
+	}
+
+
+	/** Returns the pivot card of the player's hand with the community cards.
+	 *
+	 * @return	the pivot card
+	 */
+	public Card getPivot() {
+
+		if (pivot == null)
+			pivot = dealer.getPivot(player.getHand());
+		return pivot;
+	}
+
+
+	/** Returns the hand strength of the player against the active opponents (see {@code HandStrength}).
+	 *
+	 * @return	the strength in [0, 1]
+	 */
+	public double getStrength() {
+
+		computeStrength();
+		return strength;
+	}
+
+
+	/** Returns the positive potential of the player's hand, i.e., the probability to get ahead of an opponent.
+	 *
+	 * @return	the potential in [0, 1], 0 before the flop and on the river
+	 */
+	public double getPositivePotential() {
+
+		computeStrength();
+		return potentials[HandStrength.PPOT];
+	}
+
+
+	/** Returns the negative potential of the player's hand, i.e., the probability to fall behind an opponent.
+	 *
+	 * @return	the potential in [0, 1], 0 before the flop and on the river
+	 */
+	public double getNegativePotential() {
+
+		computeStrength();
+		return potentials[HandStrength.NPOT];
+	}
+
+
+	/** Computes the hand strength and potentials of the player, if not computed yet for the decision. */
+	private void computeStrength() {
+
+		if (potentials == null) {
+			long hole = player.getHand().getCardSet().getBits();
+			long board = dealer.getCommunitySet().getBits();
+			int opponents = dealer.getActivePlayers().size() - 1;
+			potentials = HandStrength.get(hole, board);
+			strength = HandStrength.getStrength(hole, board, opponents);
+		}
+	}
+
+}
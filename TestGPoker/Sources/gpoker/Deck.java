@@ -1,8 +1,9 @@
 package gpoker;
 
-import evSOLve.JEvolution.misc.Utilities;
+import gpoker.misc.RandomStream;
 
 import java.util.List;
+import java.util.Random;
 
 /**
  * Representation of deck(s) of "french" cards.
@@ -12,11 +13,8 @@ import java.util.List;
  */
 public class Deck {
 
-	/** The number of cards in the deck. */
-	private static final int NUMBER_OF_CARDS = Card.NUMBER_OF_SUITS * Card.NUMBER_OF_RANKS;
-
-	/** All the cards. */
-	private Card[] cards;
+	/** The indices of all the cards. */
+	private final byte[] cards;
 
 	/** The index of the card to be dealt next. */
 	private int cardIndex;
@@ -27,17 +25,24 @@ public class Deck {
 	/** Counts the number of duplicate hands. */
 	private int dupCount;
 
+	/** The random number generator for shuffling. */
+	private Random random;
+
+	/** The corpus of decks replayed instead of shuffling, null if the deck is shuffled. */
+	private DealCorpus corpus;
+
+	/** The index of the first deck of the corpus replayed. */
+	private long start;
+
+	/** The index of the next deck of the corpus. */
+	private long next;
+
 
 	/** Constructs a shuffled deck. */
 	public Deck() {
 
-		cards = new Card[NUMBER_OF_CARDS];
-		int index = 0;
-		for (int i = 0; i < Card.NUMBER_OF_SUITS; i++)
-			for (int j = 0; j < Card.NUMBER_OF_RANKS; j++)
-				cards[index++] = new Card(j, i);
-		shuffle();
-		dupCount = -1;											// a bit tricky, but correct
+		cards = new byte[Card.NUMBER_OF_CARDS];
+		setRandom(new RandomStream());
 	}
 
 
@@ -51,24 +56,126 @@ public class Deck {
 	}
 
 
+	/** Sets a corpus of decks to be replayed instead of shuffling. The duplicate hand system still works, i.e., a deck
+	 * of the corpus is dealt to every active player.
+	 *
+	 * @param corpus	a corpus of decks, null if the deck is shuffled
+	 */
+	public void replay(DealCorpus corpus) {
+
+		this.corpus = corpus;
+		rewind();
+	}
+
+
+	/** Returns the corpus of decks replayed.
+	 *
+	 * @return		the corpus, null if the deck is shuffled
+	 */
+	public DealCorpus getCorpus() {
+
+		return corpus;
+	}
+
+
+	/** Sets the index of the first deck of the corpus replayed and rewinds.
+	 *
+	 * @param start		the index of a deck of the corpus
+	 */
+	public void setStart(long start) {
+
+		this.start = start;
+		rewind();
+	}
+
+
+	/** Returns the index of the first deck of the corpus replayed.
+	 *
+	 * @return		the index of a deck of the corpus
+	 */
+	public long getStart() {
+
+		return start;
+	}
+
+
+	/** Rewinds to the first deck of the corpus replayed, so the same sequence of decks is dealt again. Without a
+	 * corpus nothing changes. */
+	public void rewind() {
+
+		if (corpus == null)
+			return;
+		next = start;
+		dupCount = -1;
+		if (duplicate)
+			mix();												// dealt without shuffling first
+	}
+
+
+	/** Sets the random number generator for shuffling. The deck is sorted and mixed by the new generator, and a
+	 * duplication period starts, so the cards only depend on the generator. Decks with generators of their own are
+	 * independent of each other, which is necessary for reproducible (parallel) games.
+	 *
+	 * @param random	a random number generator
+	 */
+	public void setRandom(Random random) {
+
+		this.random = random;
+		for (int i = 0; i < Card.NUMBER_OF_CARDS; i++)
+			cards[i] = (byte)i;
+		mix();
+		dupCount = -1;											// a bit tricky, but correct
+	}
+
+
 	/** Performs a deck shuffle implementing the Fisher-Yates algorithm. It also implements the duplicate hand system
 	 * by not shuffling the deck until every active player has played the same hand. Note that there are some subtle
 	 * problems, if during a duplication period an active player is eliminated (from a tournament), as duplication might
-	 * not be exact, i.e., one or more players do not receive the same hand. */
-	public void shuffle() {
+	 * not be exact, i.e., one or more players do not receive the same hand.
+	 *
+	 * @param players	the number of active players
+	 */
+	public void shuffle(int players) {
 
 		cardIndex = 0;
 
-		if (duplicate && ++dupCount < Director.getInstance().getDealer().getActivePlayers().size())
+		if (duplicate && ++dupCount < players)
 			return;
 
-		for (int i = NUMBER_OF_CARDS - 1; i > 0; i--) {
-			int pos = Utilities.nextIntegerInRange(0, i);		// pos in [0, i]
-			Card temp = cards[pos];
+		mix();
+		dupCount = 0;
+	}
+
+
+	/** Mixes the cards implementing the Fisher-Yates algorithm, or takes the next deck of the corpus. */
+	private void mix() {
+
+		if (corpus != null) {
+			corpus.copy(next++, cards);
+			return;
+		}
+
+		for (int i = Card.NUMBER_OF_CARDS - 1; i > 0; i--) {
+			int pos = random.nextInt(i + 1);					// pos in [0, i]
+			byte temp = cards[pos];
 			cards[pos] = cards[i];
 			cards[i] = temp;
 		}
-		dupCount = 0;
+	}
+
+
+	/**
+	 * Draws a number of card indices from the deck into a buffer. No objects are allocated.
+	 *
+	 * @param count		the number of cards
+	 * @param buffer	a buffer to put the card indices into
+	 * @param offset	the position of the first card in the buffer
+	 *
+	 */
+	public void draw(int count, int[] buffer, int offset) {
+
+		for (int i = 0; i < count; i++)
+			buffer[offset + i] = cards[cardIndex++];
 	}
 
 
@@ -82,7 +189,39 @@ public class Deck {
 	public void draw(int count, List<Card> cards) {
 
 		for (int i = 0; i < count; i++)
-			cards.add(this.cards[cardIndex++]);
+			cards.add(Card.ofIndex(this.cards[cardIndex++]));
+	}
+
+
+	/**
+	 * Draws a number of cards from the deck into a list and a card set.
+	 *
+	 * @param count		the number of cards
+	 * @param cards		a card list to put cards into
+	 * @param set		a card set to put the same cards into
+	 *
+	 */
+	public void draw(int count, List<Card> cards, CardSet set) {
+
+		for (int i = 0; i < count; i++) {
+			Card card = Card.ofIndex(this.cards[cardIndex++]);
+			cards.add(card);
+			set.add(card);
+		}
+	}
+
+
+	/**
+	 * Draws a number of cards from the deck into a hand.
+	 *
+	 * @param count		the number of cards
+	 * @param hand		a hand to put cards into
+	 *
+	 */
+	public void draw(int count, Hand hand) {
+
+		for (int i = 0; i < count; i++)
+			hand.addCard(Card.ofIndex(this.cards[cardIndex++]));
 	}
 
 
@@ -94,9 +233,9 @@ public class Deck {
 
 		String cards = "";
 
-		for (Card card : this.cards)
-			cards += (String.valueOf(card) + " ");
+		for (byte index : this.cards)
+			cards += (String.valueOf(Card.ofIndex(index)) + " ");
 		return cards;
 	}
 
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package gpoker;
 
 import gpoker.gp.GPoker;
+import gpoker.misc.RandomStream;
 import gpoker.misc.Utilities;
 import gpoker.misc.Xml;
 import gpoker.modes.GameMode;
@@ -10,6 +11,7 @@ import org.jdom2.Document;
 import org.jdom2.Element;
 
 import java.util.List;
+import java.util.Random;
 
 /**
  * The director manages all parts of GPoker.
@@ -37,6 +39,12 @@ public class Director {
 	/** The reporter. */
 	private Reporter reporter;
 
+	/** The master stream of random numbers, which the streams of all tables are split off. */
+	private RandomStream random;
+
+	/** Indicates that the master stream has been seeded. */
+	private boolean seeded;
+
 	/**
 	 * Constructs the singleton.
 	 */
@@ -117,17 +125,115 @@ public class Director {
 
 		document = Xml.buildDocument(xmlFileName);
 		reporter = new Reporter(Xml.getChildOf(document.getRootElement(), "Reporter"));
-		dealer = Dealer.create(Xml.getChildOf(document.getRootElement(), "Dealer"));
-		dealer.setGameMode(GameMode.create(Xml.getChildOf(document.getRootElement(), "GameMode")));
-		tournamentMode = TournamentMode.create(Xml.getChildOf(document.getRootElement(), "TournamentMode"));
+		String seed = Xml.getProperty(document.getRootElement(), "seed", null);
+		seeded = seed != null;
+		random = seeded ? new RandomStream(Long.parseLong(seed.trim())) : new RandomStream();
+		setupStrength(document.getRootElement());
+		tournamentMode = createTable(split());
+		dealer = tournamentMode.getDealer();
+	}
+
+
+	/** Enables hand strength and potentials as features of the players, opens (or generates) the table of the preflop
+	 * strength, and precomputes the flops of starting hands on all cores, if requested. This has to be done before the
+	 * players are created.
+	 *
+	 * @param root	the root element of the configuration
+	 */
+	private void setupStrength(Element root) {
+
+		HandStrength.setEnabled(Boolean.parseBoolean(Xml.getProperty(root, "strengthFeatures", "false").trim()));
+		if (HandStrength.isEnabled()) {
+			long seed = PreflopTable.DEFAULT_SEED;
+			int samples = PreflopTable.DEFAULT_SAMPLES;
+			String fileName = Xml.getProperty(root, "preflopTable", PreflopTable.getFileName(seed, samples)).trim();
+			long start = System.currentTimeMillis();
+			HandStrength.setPreflopTable(PreflopTable.open(fileName, seed, samples));
+			System.out.println("Opened preflop table " + fileName + " in " + (System.currentTimeMillis() - start)
+					+ " ms.");
+		}
+		int[] classes = HandStrength.parseClasses(Xml.getProperty(root, "strengthPrecompute", null));
+		if (HandStrength.isEnabled() && classes != null) {
+			long start = System.currentTimeMillis();
+			int flops = HandStrength.precompute(classes, Runtime.getRuntime().availableProcessors());
+			System.out.println("Precomputed hand strength of " + flops + " flops in "
+					+ (System.currentTimeMillis() - start) / 1000 + " s.");
+		}
+	}
+
 
-		List<Element> players = document.getRootElement().getChildren("Player");
+	/** Splits off a stream of random numbers from the master stream. The streams are determined by the master seed
+	 * and the order of the calls, so tables should be set up by a single thread.
+	 *
+	 * @return		an independent stream
+	 */
+	public synchronized RandomStream split() {
+
+		return random.split();
+	}
+
+
+	/** Seeds the master stream, and the table of the dealer gets a new stream split off.
+	 *
+	 * @param seed	the master seed
+	 */
+	public synchronized void setSeed(long seed) {
+
+		random = new RandomStream(seed);
+		seeded = true;
+		dealer.setTable(new TableContext(dealer, reporter, split()));
+	}
+
+
+	/** Checks if the master stream has been seeded, so the games can be repeated.
+	 *
+	 * @return		true, if seeded
+	 */
+	public boolean isSeeded() {
+
+		return seeded;
+	}
+
+
+	/** Sets up a table from XML with its own dealer, game mode, tournament mode, and players. Tables are independent
+	 * of each other, so they may be played in parallel. The XML is modified by defaults, so tables should be created
+	 * by a single thread.
+	 *
+	 * @param random	the random number generator of the table
+	 *
+	 * @return			the tournament mode of the table
+	 */
+	public TournamentMode createTable(Random random) {
+
+		Element root = document.getRootElement();
+		Dealer table = createDealer(random);
+		TournamentMode mode = TournamentMode.create(Xml.getChildOf(root, "TournamentMode"));
+		mode.setDealer(table);
+
+		List<Element> players = root.getChildren("Player");
 		for (Element e : players){
-			tournamentMode.addPlayer(Player.create(e));
+			mode.addPlayer(Player.create(e));
 			//added
-			dealer.addPlayer(Player.create(e));
+			table.addPlayer(Player.create(e));
 		}
+		return mode;
+	}
+
 
+	/** Sets up a dealer from XML with its own table context and game mode, but without players. The XML is modified
+	 * by defaults, so dealers should be created by a single thread.
+	 *
+	 * @param random	the random number generator of the table
+	 *
+	 * @return			the dealer
+	 */
+	public Dealer createDealer(Random random) {
+
+		Element root = document.getRootElement();
+		Dealer table = Dealer.create(Xml.getChildOf(root, "Dealer"));
+		table.setTable(new TableContext(table, reporter, random));
+		table.setGameMode(GameMode.create(Xml.getChildOf(root, "GameMode")));
+		return table;
 	}
 
 
@@ -140,11 +246,7 @@ public class Director {
 	 */
 	public Player getPlayer(String className) {
 
-		for (Player p : tournamentMode.getPlayers()) {
-			if (p.getClass().getName().contains(className))
-				return p;
-		}
-		return null;
+		return tournamentMode.getPlayer(className);
 	}
 
 
@@ -0,0 +1,103 @@
+package gpoker;
+
+/**
+ * The equity of a hand against a number of opponents. It holds the probabilities to win (the hand is better than all
+ * opponents), to tie (the best opponent is as good as the hand), and to lose, and the equity, i.e., the expected share
+ * of the pot, where a tie with k opponents counts 1 / (k + 1).
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class Equity {
+
+	/** The probability to win. */
+	private final double win;
+
+	/** The probability to tie. */
+	private final double tie;
+
+	/** The expected share of the pot. */
+	private final double share;
+
+	/** The number of (sampled or enumerated) deals. */
+	private final long deals;
+
+
+	/**
+	 * Constructs an equity.
+	 *
+	 * @param wins		the number of deals won
+	 * @param ties		the number of deals tied
+	 * @param shares	the sum of the pot shares of all deals
+	 * @param deals		the number of deals
+	 */
+	public Equity(long wins, long ties, double shares, long deals) {
+
+		this.deals = deals;
+		win = deals == 0 ? 0.0 : (double)wins / deals;
+		tie = deals == 0 ? 0.0 : (double)ties / deals;
+		share = deals == 0 ? 0.0 : shares / deals;
+	}
+
+
+	/** Returns the probability to win.
+	 *
+	 * @return	the probability
+	 */
+	public double getWin() {
+
+		return win;
+	}
+
+
+	/** Returns the probability to tie.
+	 *
+	 * @return	the probability
+	 */
+	public double getTie() {
+
+		return tie;
+	}
+
+
+	/** Returns the probability to lose.
+	 *
+	 * @return	the probability
+	 */
+	public double getLose() {
+
+		return deals == 0 ? 0.0 : Math.max(0.0, 1.0 - win - tie);
+	}
+
+
+	/** Returns the equity, i.e., the expected share of the pot.
+	 *
+	 * @return	the share in [0, 1]
+	 */
+	public double getShare() {
+
+		return share;
+	}
+
+
+	/** Returns the number of deals the equity has been computed of.
+	 *
+	 * @return	the number of deals
+	 */
+	public long getDeals() {
+
+		return deals;
+	}
+
+
+	/**
+	 * The string representation of the equity.
+	 *
+	 * @return a string with the probabilities
+	 */
+	public String toString() {
+
+		return String.format("win %.4f, tie %.4f, lose %.4f, equity %.4f (%d deals)", win, tie, getLose(), share, deals);
+	}
+
+}
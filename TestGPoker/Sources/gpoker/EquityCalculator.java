@@ -0,0 +1,344 @@
+package gpoker;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Estimates the equity of hole cards against a number of opponents with random hole cards by Monte Carlo sampling of
+ * the remaining cards. The samples are dealt in chunks, and each chunk is evaluated in batches, i.e., the boards and
+ * hole cards of all samples of the chunk are dealt first, then the ranks of the hand and of each opponent are computed
+ * in simple loops over primitive arrays by the {@code LookupEvaluator}. The scratch arrays of a chunk are thread-local.
+ * <p>
+ * With more than one thread the chunks are evaluated in parallel. Each chunk has a random number generator of its own
+ * split off in the order of the chunks, so the equity only depends on the seed, but not on the number of threads. With
+ * a time budget no more chunks are started after the budget is spent (the first chunk is always evaluated), hence the
+ * equity is no longer repeatable.
+ * <p>
+ * On the turn and the river against one or two opponents, sampling is wasteful, and the exact equity is computed by
+ * an {@code EquityEnumerator}.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class EquityCalculator {
+
+	/** The maximal number of opponents. */
+	public static final int MAX_OPPONENTS = 9;
+
+	/** The number of samples of a chunk. */
+	private static final int CHUNK = 256;
+
+	/** The card set bits of the cards by card index. */
+	private static final long[] BITS = new long[Card.NUMBER_OF_CARDS];
+
+	static {
+		for (int i = 0; i < Card.NUMBER_OF_CARDS; i++)
+			BITS[i] = CardSet.getBit(Card.ofIndex(i));
+	}
+
+	/** The scratch arrays of each thread. */
+	private static final ThreadLocal<Scratch> scratch = new ThreadLocal<Scratch>() {
+		protected Scratch initialValue() {
+
+			return new Scratch();
+		}
+	};
+
+	/** The maximal number of samples. */
+	private final int samples;
+
+	/** The time budget in nanoseconds, 0 if there is none. */
+	private final long budget;
+
+	/** The number of threads. */
+	private final int threads;
+
+	/** The pool of threads evaluating chunks, created on first demand. */
+	private ForkJoinPool pool;
+
+	/** The enumerator of exact equities on the turn and the river. */
+	private final EquityEnumerator enumerator;
+
+
+	/**
+	 * Constructs a calculator.
+	 *
+	 * @param samples	the maximal number of samples
+	 * @param budget	the time budget of a computation in nanoseconds, 0 if there is none
+	 * @param threads	the number of threads
+	 */
+	public EquityCalculator(int samples, long budget, int threads) {
+
+		this.samples = Math.max(1, samples);
+		this.budget = Math.max(0, budget);
+		this.threads = Math.max(1, threads);
+		enumerator = new EquityEnumerator(threads);
+	}
+
+
+	/**
+	 * Estimates the equity of hole cards.
+	 *
+	 * @param hole			the hole cards
+	 * @param board			the community cards (0 to 5)
+	 * @param opponents		the number of opponents (1 to {@code MAX_OPPONENTS})
+	 * @param random		the random number generator seeding the samples
+	 *
+	 * @return				the equity
+	 */
+	public Equity compute(List<Card> hole, List<Card> board, int opponents, Random random) {
+
+		return compute(toBits(hole), toBits(board), opponents, random.nextLong());
+	}
+
+
+	/**
+	 * Estimates the equity of hole cards given as card set bits. On the turn and the river against one or two
+	 * opponents the equity is exact.
+	 *
+	 * @param hole			the bits of the hole cards
+	 * @param board			the bits of the community cards (0 to 5)
+	 * @param opponents		the number of opponents (1 to {@code MAX_OPPONENTS})
+	 * @param seed			the seed of the samples
+	 *
+	 * @return				the equity
+	 */
+	public Equity compute(long hole, long board, int opponents, long seed) {
+
+		if (opponents < 1 || opponents > MAX_OPPONENTS || Long.bitCount(board) > 5 || (hole & board) != 0)
+			throw new IllegalArgumentException("Illegal equity query with " + opponents + " opponents.");
+		if (Long.bitCount(board) >= 4 && EquityEnumerator.isExact(board, opponents))
+			return enumerator.compute(hole, board, opponents);
+
+		long deadline = budget == 0 ? Long.MAX_VALUE : System.nanoTime() + budget;
+		SplittableRandom master = new SplittableRandom(seed);
+		List<Chunk> chunks = new ArrayList<>();
+		for (int done = 0; done < samples; done += CHUNK)
+			chunks.add(new Chunk(hole, board, opponents, Math.min(CHUNK, samples - done), master.split(), deadline,
+					done == 0));
+
+		double[] total = new double[3];
+		try {
+			if (threads == 1 || chunks.size() == 1) {
+				for (Chunk chunk : chunks)
+					add(total, chunk.call());
+			} else {
+				for (Future<double[]> result : getPool().invokeAll(chunks))
+					add(total, result.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Equity computation interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Equity computation failed.", e.getCause());
+		}
+		long deals = 0;
+		for (Chunk chunk : chunks)
+			deals += chunk.dealt;
+		return new Equity((long)total[0], (long)total[1], total[2], deals);
+	}
+
+
+	/**
+	 * Returns the card set bits of cards.
+	 *
+	 * @param cards		a list of cards
+	 *
+	 * @return			the bits
+	 */
+	public static long toBits(List<Card> cards) {
+
+		long bits = CardSet.EMPTY;
+
+		for (int i = 0, n = cards.size(); i < n; i++)
+			bits |= BITS[cards.get(i).getIndex()];
+		return bits;
+	}
+
+
+	/**
+	 * Adds the counts of a chunk.
+	 *
+	 * @param total		the total wins, ties, and shares
+	 * @param counts	the wins, ties, and shares of a chunk
+	 */
+	private static void add(double[] total, double[] counts) {
+
+		for (int i = 0; i < total.length; i++)
+			total[i] += counts[i];
+	}
+
+
+	/** Returns the pool of threads, which is created on first demand.
+	 *
+	 * @return	the pool
+	 */
+	private synchronized ForkJoinPool getPool() {
+
+		if (pool == null)
+			pool = new ForkJoinPool(threads);
+		return pool;
+	}
+
+
+	/**
+	 * The string representation of the calculator.
+	 *
+	 * @return a string describing the settings
+	 */
+	public String toString() {
+
+		return "EquityCalculator (" + samples + " samples, " + (budget / 1000) + " us budget, " + threads + " threads)";
+	}
+
+
+	/** The scratch arrays of a thread. */
+	private static class Scratch {
+
+		/** The indices of the unseen cards. */
+		final int[] unseen = new int[Card.NUMBER_OF_CARDS];
+
+		/** The complete board of each sample. */
+		final long[] boards = new long[CHUNK];
+
+		/** The hole cards of each opponent of each sample, opponent after opponent. */
+		final long[] holes = new long[CHUNK * MAX_OPPONENTS];
+
+		/** The rank of the hand of each sample. */
+		final int[] ranks = new int[CHUNK];
+
+		/** The best rank of the opponents of each sample. */
+		final int[] best = new int[CHUNK];
+
+		/** The number of opponents with the best rank of each sample. */
+		final int[] count = new int[CHUNK];
+	}
+
+
+	/** A chunk of samples. */
+	private static class Chunk implements Callable<double[]> {
+
+		/** The hole cards, the community cards, and the number of opponents. */
+		private final long hole, board;
+		private final int opponents;
+
+		/** The number of samples. */
+		private final int size;
+
+		/** The random number generator of the chunk. */
+		private final SplittableRandom random;
+
+		/** The deadline of the computation, and if the chunk is evaluated anyway. */
+		private final long deadline;
+		private final boolean first;
+
+		/** The number of samples dealt. */
+		private int dealt;
+
+
+		/**
+		 * Constructs a chunk.
+		 *
+		 * @param hole			the bits of the hole cards
+		 * @param board			the bits of the community cards
+		 * @param opponents		the number of opponents
+		 * @param size			the number of samples
+		 * @param random		the random number generator of the chunk
+		 * @param deadline		the deadline of the computation
+		 * @param first			true, if the chunk is evaluated regardless of the deadline
+		 */
+		Chunk(long hole, long board, int opponents, int size, SplittableRandom random, long deadline, boolean first) {
+
+			this.hole = hole;
+			this.board = board;
+			this.opponents = opponents;
+			this.size = size;
+			this.random = random;
+			this.deadline = deadline;
+			this.first = first;
+		}
+
+
+		/** Evaluates the samples of the chunk.
+		 *
+		 * @return	the wins, ties, and the sum of the shares
+		 */
+		public double[] call() {
+
+			double[] counts = new double[3];
+			if (!first && System.nanoTime() > deadline)
+				return counts;											// budget spent
+
+			Scratch s = scratch.get();
+			long known = hole | board;
+			int unseen = 0;
+			for (int i = 0; i < Card.NUMBER_OF_CARDS; i++) {
+				if ((known & BITS[i]) == 0)
+					s.unseen[unseen++] = i;
+			}
+			int missing = 5 - Long.bitCount(board);
+
+			for (int k = 0; k < size; k++) {								// deal all samples
+				int next = 0;
+				long cards = board;
+				for (int i = 0; i < missing; i++)
+					cards |= BITS[draw(s.unseen, next++, unseen)];
+				s.boards[k] = cards;
+				for (int o = 0; o < opponents; o++)
+					s.holes[o * CHUNK + k] = BITS[draw(s.unseen, next++, unseen)] | BITS[draw(s.unseen, next++, unseen)];
+			}
+			for (int k = 0; k < size; k++) {								// rank the hand
+				s.ranks[k] = LookupEvaluator.rank(hole | s.boards[k]);
+				s.best[k] = -1;
+				s.count[k] = 0;
+			}
+			for (int o = 0; o < opponents; o++) {							// rank the opponents
+				for (int k = 0; k < size; k++) {
+					int rank = LookupEvaluator.rank(s.holes[o * CHUNK + k] | s.boards[k]);
+					if (rank > s.best[k]) {
+						s.best[k] = rank;
+						s.count[k] = 1;
+					} else if (rank == s.best[k])
+						++s.count[k];
+				}
+			}
+			for (int k = 0; k < size; k++) {								// count the results
+				if (s.ranks[k] > s.best[k]) {
+					++counts[0];
+					counts[2] += 1.0;
+				} else if (s.ranks[k] == s.best[k]) {
+					++counts[1];
+					counts[2] += 1.0 / (s.count[k] + 1);
+				}
+			}
+			dealt = size;
+			return counts;
+		}
+
+
+		/**
+		 * Draws a random card from the unseen cards not drawn yet by swapping it to the next position.
+		 *
+		 * @param unseen	the indices of the unseen cards
+		 * @param next		the position of the next card
+		 * @param count		the number of unseen cards
+		 *
+		 * @return			the index of the card drawn
+		 */
+		private int draw(int[] unseen, int next, int count) {
+
+			int pos = next + random.nextInt(count - next);
+			int card = unseen[pos];
+			unseen[pos] = unseen[next];
+			unseen[next] = card;
+			return card;
+		}
+	}
+
+}
@@ -0,0 +1,398 @@
+package gpoker;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the exact equity of hole cards against one or two opponents, when at most two community cards are missing.
+ * All boards completing the community cards (the runouts) are enumerated, and for each runout every hole card
+ * combination of the opponents is ranked once by the {@code LookupEvaluator}.
+ * <p>
+ * Runouts equal up to a permutation of suits, which changes neither the hole nor the community cards (e.g., suits not
+ * seen yet), have the same equity, hence only one runout of each class is evaluated with the size of the class as
+ * weight. Against two opponents the disjoint pairs of combinations are counted from the counts of the single
+ * combinations by inclusion-exclusion (two combinations share at most one card), so no pair is enumerated. The
+ * runouts are split among the threads by fork-join.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class EquityEnumerator {
+
+	/** The maximal number of opponents. */
+	public static final int MAX_OPPONENTS = 2;
+
+	/** The maximal number of missing community cards. */
+	public static final int MAX_MISSING = 2;
+
+	/** The number of runouts evaluated by a task without splitting. */
+	private static final int THRESHOLD = 8;
+
+	/** The card set bits of the cards by card index. */
+	private static final long[] BITS = new long[Card.NUMBER_OF_CARDS];
+
+	static {
+		for (int i = 0; i < Card.NUMBER_OF_CARDS; i++)
+			BITS[i] = CardSet.getBit(Card.ofIndex(i));
+	}
+
+	/** The scratch arrays of each thread. */
+	private static final ThreadLocal<Scratch> scratch = new ThreadLocal<Scratch>() {
+		protected Scratch initialValue() {
+
+			return new Scratch();
+		}
+	};
+
+	/** The number of threads. */
+	private final int threads;
+
+	/** The pool of threads evaluating runouts, created on first demand. */
+	private ForkJoinPool pool;
+
+
+	/**
+	 * Constructs an enumerator.
+	 *
+	 * @param threads	the number of threads
+	 */
+	public EquityEnumerator(int threads) {
+
+		this.threads = Math.max(1, threads);
+	}
+
+
+	/**
+	 * Checks if the equity is computed exactly for a number of opponents and community cards.
+	 *
+	 * @param board			the bits of the community cards
+	 * @param opponents		the number of opponents
+	 *
+	 * @return				true, if the enumerator may be used
+	 */
+	public static boolean isExact(long board, int opponents) {
+
+		return opponents >= 1 && opponents <= MAX_OPPONENTS && 5 - Long.bitCount(board) <= MAX_MISSING;
+	}
+
+
+	/**
+	 * Computes the exact equity of hole cards.
+	 *
+	 * @param hole			the hole cards
+	 * @param board			the community cards (3 to 5)
+	 * @param opponents		the number of opponents (1 or 2)
+	 *
+	 * @return				the equity
+	 */
+	public Equity compute(List<Card> hole, List<Card> board, int opponents) {
+
+		return compute(EquityCalculator.toBits(hole), EquityCalculator.toBits(board), opponents);
+	}
+
+
+	/**
+	 * Computes the exact equity of hole cards given as card set bits.
+	 *
+	 * @param hole			the bits of the hole cards
+	 * @param board			the bits of the community cards (3 to 5)
+	 * @param opponents		the number of opponents (1 or 2)
+	 *
+	 * @return				the equity
+	 */
+	public Equity compute(long hole, long board, int opponents) {
+
+		if (!isExact(board, opponents) || Long.bitCount(board) > 5 || (hole & board) != 0)
+			throw new IllegalArgumentException("No exact equity with " + opponents + " opponents.");
+
+		long known = hole | board;
+		int[] unseen = new int[Card.NUMBER_OF_CARDS];
+		int count = 0;
+		for (int i = 0; i < Card.NUMBER_OF_CARDS; i++) {
+			if ((known & BITS[i]) == 0)
+				unseen[count++] = i;
+		}
+
+		Map<Long, Integer> classes = new LinkedHashMap<>();						// runout classes by canonical runout
+		int[][] permutations = getPermutations(hole, board);
+		addRunouts(classes, permutations, unseen, count, 0, 5 - Long.bitCount(board), 0L);
+
+		long[] runouts = new long[classes.size()];
+		int[] weights = new int[classes.size()];
+		int k = 0;
+		for (Map.Entry<Long, Integer> entry : classes.entrySet()) {
+			runouts[k] = entry.getKey();
+			weights[k++] = entry.getValue();
+		}
+
+		Runouts task = new Runouts(hole, board, opponents, unseen, count, runouts, weights, 0, runouts.length);
+		double[] counts = threads == 1 ? task.compute() : getPool().invoke(task);
+		return new Equity((long)counts[0], (long)counts[1], counts[2], (long)counts[3]);
+	}
+
+
+	/**
+	 * Adds all runouts to their classes.
+	 *
+	 * @param classes		the number of runouts by canonical runout
+	 * @param permutations	the suit permutations changing neither hole nor community cards
+	 * @param unseen		the indices of the unseen cards
+	 * @param count			the number of unseen cards
+	 * @param from			the position of the next unseen card to be dealt
+	 * @param missing		the number of missing cards
+	 * @param runout		the cards of the runout so far
+	 */
+	private static void addRunouts(Map<Long, Integer> classes, int[][] permutations, int[] unseen, int count, int from,
+			int missing, long runout) {
+
+		if (missing == 0) {
+			long canonical = runout;
+			for (int[] permutation : permutations)
+				canonical = Math.min(canonical, permute(runout, permutation));
+			Integer weight = classes.get(canonical);
+			classes.put(canonical, weight == null ? 1 : weight + 1);
+			return;
+		}
+		for (int i = from; i <= count - missing; i++)
+			addRunouts(classes, permutations, unseen, count, i + 1, missing - 1, runout | BITS[unseen[i]]);
+	}
+
+
+	/**
+	 * Returns the permutations of the suits, which change neither the hole cards nor the community cards, i.e., suits
+	 * are only exchanged with suits having the same ranks among the hole cards and among the community cards.
+	 *
+	 * @param hole		the bits of the hole cards
+	 * @param board		the bits of the community cards
+	 *
+	 * @return			the permutations (the image of each suit) including the identity
+	 */
+	private static int[][] getPermutations(long hole, long board) {
+
+		List<int[]> permutations = new ArrayList<>();
+		int[] p = new int[Card.NUMBER_OF_SUITS];
+
+		for (p[0] = 0; p[0] < 4; p[0]++)
+			for (p[1] = 0; p[1] < 4; p[1]++)
+				for (p[2] = 0; p[2] < 4; p[2]++) {
+					p[3] = 6 - p[0] - p[1] - p[2];
+					if (p[0] == p[1] || p[0] == p[2] || p[1] == p[2] || p[3] < 0 || p[3] > 3 || p[3] == p[0]
+							|| p[3] == p[1] || p[3] == p[2])
+						continue;
+					if (permute(hole, p) == hole && permute(board, p) == board)
+						permutations.add(p.clone());
+				}
+		return permutations.toArray(new int[permutations.size()][]);
+	}
+
+
+	/**
+	 * Permutes the suits of cards.
+	 *
+	 * @param bits			the bits of the cards
+	 * @param permutation	the image of each suit
+	 *
+	 * @return				the bits of the permuted cards
+	 */
+	private static long permute(long bits, int[] permutation) {
+
+		long permuted = CardSet.EMPTY;
+
+		for (int suit = 0; suit < Card.NUMBER_OF_SUITS; suit++)
+			permuted |= (long)CardSet.getSuitMask(bits, suit) << permutation[suit] * CardSet.SUIT_BITS;
+		return permuted;
+	}
+
+
+	/** Returns the pool of threads, which is created on first demand.
+	 *
+	 * @return	the pool
+	 */
+	private synchronized ForkJoinPool getPool() {
+
+		if (pool == null)
+			pool = new ForkJoinPool(threads);
+		return pool;
+	}
+
+
+	/**
+	 * The string representation of the enumerator.
+	 *
+	 * @return a string describing the settings
+	 */
+	public String toString() {
+
+		return "EquityEnumerator (" + threads + " threads)";
+	}
+
+
+	/** The scratch arrays of a thread. */
+	private static class Scratch {
+
+		/** The indices of the cards left for the opponents. */
+		final int[] cards = new int[Card.NUMBER_OF_CARDS];
+
+		/** The number of combinations worse than the hand containing a card. */
+		final long[] less = new long[Card.NUMBER_OF_CARDS];
+
+		/** The number of combinations as good as the hand containing a card. */
+		final long[] equal = new long[Card.NUMBER_OF_CARDS];
+	}
+
+
+	/** A task evaluating a range of runout classes. */
+	private static class Runouts extends RecursiveTask<double[]> {
+
+		/** The version of the serialized form. */
+		private static final long serialVersionUID = 1L;
+
+		/** The hole cards, the community cards, and the number of opponents. */
+		private final long hole, board;
+		private final int opponents;
+
+		/** The indices and the number of the unseen cards. */
+		private final int[] unseen;
+		private final int count;
+
+		/** The canonical runouts and their weights. */
+		private final long[] runouts;
+		private final int[] weights;
+
+		/** The range of the runouts. */
+		private final int from, to;
+
+
+		/**
+		 * Constructs a task.
+		 *
+		 * @param hole			the bits of the hole cards
+		 * @param board			the bits of the community cards
+		 * @param opponents		the number of opponents
+		 * @param unseen		the indices of the unseen cards
+		 * @param count			the number of unseen cards
+		 * @param runouts		the canonical runouts
+		 * @param weights		the weights of the runouts
+		 * @param from			the first runout
+		 * @param to			the runout after the last one
+		 */
+		Runouts(long hole, long board, int opponents, int[] unseen, int count, long[] runouts, int[] weights, int from,
+				int to) {
+
+			this.hole = hole;
+			this.board = board;
+			this.opponents = opponents;
+			this.unseen = unseen;
+			this.count = count;
+			this.runouts = runouts;
+			this.weights = weights;
+			this.from = from;
+			this.to = to;
+		}
+
+
+		/** Evaluates the runouts, or splits them among two tasks.
+		 *
+		 * @return	the wins, ties, shares, and deals
+		 */
+		protected double[] compute() {
+
+			if (to - from > THRESHOLD) {
+				int middle = (from + to) >>> 1;
+				Runouts left = new Runouts(hole, board, opponents, unseen, count, runouts, weights, from, middle);
+				Runouts right = new Runouts(hole, board, opponents, unseen, count, runouts, weights, middle, to);
+				left.fork();
+				double[] counts = right.compute();
+				double[] other = left.join();
+				for (int i = 0; i < counts.length; i++)
+					counts[i] += other[i];
+				return counts;
+			}
+			double[] counts = new double[4];
+			for (int i = from; i < to; i++)
+				evaluate(runouts[i], weights[i], counts);
+			return counts;
+		}
+
+
+		/**
+		 * Evaluates a runout against all combinations of the opponents.
+		 *
+		 * @param runout	the bits of the runout
+		 * @param weight	the number of runouts in its class
+		 * @param counts	the wins, ties, shares, and deals
+		 */
+		private void evaluate(long runout, int weight, double[] counts) {
+
+			Scratch s = scratch.get();
+			long full = board | runout;
+			int rank = LookupEvaluator.rank(hole | full);
+			int n = 0;
+			for (int i = 0; i < count; i++) {
+				if ((runout & BITS[unseen[i]]) == 0) {
+					s.cards[n] = unseen[i];
+					s.less[unseen[i]] = 0;
+					s.equal[unseen[i]] = 0;
+					++n;
+				}
+			}
+
+			long less = 0, equal = 0;
+			for (int i = 0; i < n; i++) {
+				int a = s.cards[i];
+				long bits = full | BITS[a];
+				for (int j = i + 1; j < n; j++) {
+					int b = s.cards[j];
+					int r = LookupEvaluator.rank(bits | BITS[b]);
+					if (r < rank) {
+						++less;
+						++s.less[a];
+						++s.less[b];
+					} else if (r == rank) {
+						++equal;
+						++s.equal[a];
+						++s.equal[b];
+					}
+				}
+			}
+
+			long combinations = (long)n * (n - 1) / 2;
+			if (opponents == 1) {
+				counts[0] += weight * less;
+				counts[1] += weight * equal;
+				counts[2] += weight * (less + equal / 2.0);
+				counts[3] += weight * combinations;
+				return;
+			}
+			long bothLess = pairs(less), bothEqual = pairs(equal), mixed = less * equal;
+			for (int i = 0; i < n; i++) {								// remove pairs sharing a card
+				int a = s.cards[i];
+				bothLess -= pairs(s.less[a]);
+				bothEqual -= pairs(s.equal[a]);
+				mixed -= s.less[a] * s.equal[a];
+			}
+			counts[0] += weight * bothLess;
+			counts[1] += weight * (mixed + bothEqual);
+			counts[2] += weight * (bothLess + mixed / 2.0 + bothEqual / 3.0);
+			counts[3] += weight * (pairs(combinations) - n * pairs(n - 1));
+		}
+
+
+		/**
+		 * Returns the number of unordered pairs of a number of items.
+		 *
+		 * @param n		the number of items
+		 *
+		 * @return		the number of pairs
+		 */
+		private static long pairs(long n) {
+
+			return n * (n - 1) / 2;
+		}
+	}
+
+}
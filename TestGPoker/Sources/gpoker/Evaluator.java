@@ -1,5 +1,8 @@
 package gpoker;
 
+import gpoker.misc.Utilities;
+
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -32,6 +35,20 @@ public abstract class Evaluator {
 	}
 
 
+	/** Creates an evaluator by its unqualified class name.
+	 *
+	 * @param className		the class name, e.g. "LookupEvaluator"
+	 *
+	 * @return          	the evaluator, null if problems (e.g., an unknown class name)
+	 */
+	public static Evaluator create(String className) {
+
+		Object evaluator = Utilities.instantiateByClassName("gpoker." + className.trim());
+
+		return evaluator instanceof Evaluator ? (Evaluator)evaluator : null;
+	}
+
+
 	/**
 	 * Evaluates the given hand and sets its value.
 	 *
@@ -51,6 +68,32 @@ public abstract class Evaluator {
 	public abstract int evaluate(List<Card> cards);
 
 
+	/**
+	 * Evaluates the given hand with additional cards given as a card set and sets its value. This default
+	 * implementation converts the card set into a list, which should be avoided by derived classes.
+	 *
+	 * @param hand		the hand to be evaluated
+	 * @param cards		additional cards to be used by the hand
+	 */
+	public void evaluate(Hand hand, CardSet cards) {
+
+		evaluate(hand, toList(cards));
+	}
+
+
+	/** Evaluates the cards of a card set. This default implementation converts the card set into a list.
+	 *
+	 * @param cards		a card set
+	 *
+	 * @return          the value of the cards
+	 *
+	 */
+	public int evaluate(CardSet cards) {
+
+		return evaluate(toList(cards));
+	}
+
+
 	/**
 	 * Determines the better of two equal hands, i.e. resolves a tie between hands.
 	 * E.g. with a straight the higher top rank of a straight determines the winner.
@@ -76,4 +119,34 @@ public abstract class Evaluator {
 	 */
 	public abstract Card getPivot(Hand hand, List<Card> cards);
 
+
+	/**
+	 * Returns the pivot card of an evaluated hand with additional cards given as a card set. This default
+	 * implementation converts the card set into a list.
+	 *
+	 * @param hand		a hand
+	 * @param cards		additional cards
+	 *
+	 * @return 			the pivot card
+	 */
+	public Card getPivot(Hand hand, CardSet cards) {
+
+		return getPivot(hand, toList(cards));
+	}
+
+
+	/**
+	 * Returns the cards of a card set as a list.
+	 *
+	 * @param cards		a card set
+	 *
+	 * @return			a new list of the cards
+	 */
+	private static List<Card> toList(CardSet cards) {
+
+		List<Card> list = new ArrayList<>(cards.size());
+		cards.toList(list);
+		return list;
+	}
+
 }
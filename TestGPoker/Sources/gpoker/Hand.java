@@ -16,6 +16,9 @@ public class Hand {
 	/** Indicates an unevaluated hand. Its value is lower than any other hand value. */
 	public final static int NOT_EVALUATED = 0;
 
+	/** Indicates that the hand has not been evaluated with any community cards. */
+	private final static long NOT_CACHED = -1L;
+
 	/** All the hand values. */
 	public final static int HIGH_CARD = 1;
 
@@ -38,9 +41,21 @@ public class Hand {
 	/** The cards in one hand */
 	public List<Card> cards = new ArrayList<>(7);
 
+	/** The cards in one hand packed into a card set. */
+	private final CardSet cardSet = new CardSet();
+
 	/** The value of the hand. */
 	private int value;
 
+	/** The rank of the hand ordering all hands including kickers, only set by a ranking evaluator. */
+	private int rank;
+
+	/** The community cards (as card set bits) the value and rank are valid for, NOT_CACHED if none. */
+	private long evaluatedWith = NOT_CACHED;
+
+	/** The pivot card of the cached evaluation, null if not yet determined. */
+	private Card pivot;
+
 	/** True if cards array is sorted false otherwise */
 	private boolean sorted;
 
@@ -67,6 +82,76 @@ public class Hand {
 	}
 
 
+	/**
+	 * Returns the rank of the hand. The higher the rank, the better the hand. Unlike the value the rank includes
+	 * the kickers, so two hands are only tied, if their ranks are equal.
+	 *
+	 * @return rank.
+	 */
+	public int getRank() {
+
+		return rank;
+	}
+
+
+	/**
+	 * Sets the rank of the hand.
+	 *
+	 * @param rank rank to set.
+	 */
+	public void setRank(int rank) {
+
+		this.rank = rank;
+	}
+
+
+	/**
+	 * Checks if the value and rank of the hand are valid for the given community cards.
+	 *
+	 * @param community		the bits of the community card set
+	 *
+	 * @return				true, if the hand has been evaluated with these community cards
+	 */
+	public boolean isEvaluatedWith(long community) {
+
+		return evaluatedWith == community;
+	}
+
+
+	/**
+	 * Marks the value and rank of the hand as valid for the given community cards. A cached pivot is discarded.
+	 *
+	 * @param community		the bits of the community card set
+	 */
+	public void setEvaluatedWith(long community) {
+
+		evaluatedWith = community;
+		pivot = null;
+	}
+
+
+	/**
+	 * Returns the cached pivot card.
+	 *
+	 * @return pivot, null if not cached.
+	 */
+	public Card getPivot() {
+
+		return pivot;
+	}
+
+
+	/**
+	 * Caches the pivot card of the current evaluation.
+	 *
+	 * @param pivot pivot to set.
+	 */
+	public void setPivot(Card pivot) {
+
+		this.pivot = pivot;
+	}
+
+
 	/**
 	 * Returns the size of the hand.
 	 *
@@ -82,7 +167,11 @@ public class Hand {
 	public void reset() {
 
 		cards.clear();
+		cardSet.clear();
 		value = NOT_EVALUATED;
+		rank = NOT_EVALUATED;
+		evaluatedWith = NOT_CACHED;
+		pivot = null;
 		sorted = false;
 	}
 
@@ -109,6 +198,17 @@ public class Hand {
 	}
 
 
+	/**
+	 * Returns all cards of the hand packed into a card set.
+	 *
+	 * @return The card set.
+	 */
+	public CardSet getCardSet() {
+
+		return cardSet;
+	}
+
+
 	/**
 	 * Adds a card to the cards array.
 	 *
@@ -117,6 +217,8 @@ public class Hand {
 	public void addCard(Card card) {
 
 		cards.add(card);
+		cardSet.add(card);
+		evaluatedWith = NOT_CACHED;
 		sorted = false;
 	}
 
@@ -140,6 +242,8 @@ public class Hand {
 
 		if (cards.size() > 0) {
 			this.cards.addAll(cards);
+			cardSet.addAll(cards);
+			evaluatedWith = NOT_CACHED;
 			sorted = false;
 		}
 	}
@@ -0,0 +1,448 @@
+package gpoker;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Maps hole cards with the community cards of a stage to a dense index, which is the same for all cards equal up to a
+ * permutation of suits, and maps an index back to a representative of its class. Hence, a cache of a quantity not
+ * depending on the suits (e.g., hand strength) is a flat array indexed by the class instead of a map of all cards.
+ * There are 169 classes before the flop (indexed like the {@code PreflopTable}), 1,286,792 on the flop, 13,960,050 on
+ * the turn, and 123,156,254 on the river.
+ * <p>
+ * The cards of a suit form a pattern, i.e., the rank sets of the hole and the community cards of the suit, and a class
+ * is a multiset of the patterns of the four suits. The suits are sorted by their numbers of hole and community cards,
+ * this configuration selects a range of indices, and within the range the suits with equal numbers of cards (which may
+ * be permuted) are ranked as multisets of their pattern indices by the combinatorial number system, while the others
+ * are simply ranked by their pattern indices.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class HandIndexer {
+
+	/** The number of community cards of each stage. */
+	private static final int[] BOARD = {0, 3, 4, 5};
+
+	/** The number of hole cards. */
+	private static final int HOLE = 2;
+
+	/** The number of codes of the numbers of hole and community cards of a suit. */
+	private static final int CODES = (HOLE + 1) * 6;
+
+	/** The binomial coefficients of the ranks. */
+	private static final int[][] BINOMIAL = new int[Card.NUMBER_OF_RANKS + 1][Card.NUMBER_OF_RANKS + 1];
+
+	/** The index of each rank set among the rank sets of the same size (colexicographic order). */
+	private static final int[] RANK_SET_INDEX = new int[1 << Card.NUMBER_OF_RANKS];
+
+	/** The rank set of each index by size. */
+	private static final int[][] INDEX_RANK_SET = new int[Card.NUMBER_OF_RANKS + 1][];
+
+	/** The configuration of each key by stage, -1 for an illegal key. */
+	private static final int[][] CONFIGURATION = new int[BOARD.length][];
+
+	/** The codes of the suits (in descending order) of each configuration by stage. */
+	private static final int[][][] CODES_OF = new int[BOARD.length][][];
+
+	/** The first index of each configuration by stage. */
+	private static final int[][] OFFSET = new int[BOARD.length][];
+
+	/** The number of classes by stage. */
+	private static final int[] SIZE = new int[BOARD.length];
+
+	static {
+		for (int n = 0; n <= Card.NUMBER_OF_RANKS; n++) {
+			BINOMIAL[n][0] = 1;
+			for (int k = 1; k <= n; k++)
+				BINOMIAL[n][k] = BINOMIAL[n - 1][k - 1] + BINOMIAL[n - 1][k];
+		}
+		for (int n = 0; n <= Card.NUMBER_OF_RANKS; n++)
+			INDEX_RANK_SET[n] = new int[BINOMIAL[Card.NUMBER_OF_RANKS][n]];
+		for (int set = 0; set < RANK_SET_INDEX.length; set++) {
+			int index = 0;
+			for (int bits = set, i = 1; bits != 0; bits &= bits - 1, i++)
+				index += getBinomial(Integer.numberOfTrailingZeros(bits), i);
+			RANK_SET_INDEX[set] = index;
+			INDEX_RANK_SET[Integer.bitCount(set)][index] = set;
+		}
+		for (int stage = 0; stage < BOARD.length; stage++)
+			setupStage(stage);
+	}
+
+
+	/** No instances. */
+	private HandIndexer() {
+
+	}
+
+
+	/**
+	 * Returns the number of classes of a stage.
+	 *
+	 * @param stage		the stage, e.g., {@code Dealer.FLOP}
+	 *
+	 * @return			the number of classes
+	 */
+	public static int getSize(int stage) {
+
+		return SIZE[stage];
+	}
+
+
+	/**
+	 * Returns the stage of community cards.
+	 *
+	 * @param board		the bits of the community cards
+	 *
+	 * @return			the stage, e.g., {@code Dealer.FLOP}
+	 */
+	public static int getStage(long board) {
+
+		int cards = Long.bitCount(board);
+
+		for (int stage = 0; stage < BOARD.length; stage++) {
+			if (BOARD[stage] == cards)
+				return stage;
+		}
+		throw new IllegalArgumentException("No stage with " + cards + " community cards.");
+	}
+
+
+	/**
+	 * Returns the index of hole and community cards.
+	 *
+	 * @param hole		the hole cards
+	 * @param board		the community cards (0, 3, 4, or 5)
+	 *
+	 * @return			the index in [0, {@code getSize(stage)})
+	 */
+	public static int index(List<Card> hole, List<Card> board) {
+
+		return index(EquityCalculator.toBits(hole), EquityCalculator.toBits(board));
+	}
+
+
+	/**
+	 * Returns the index of hole and community cards given as card set bits.
+	 *
+	 * @param hole		the bits of the two hole cards
+	 * @param board		the bits of the community cards (0, 3, 4, or 5)
+	 *
+	 * @return			the index in [0, {@code getSize(stage)})
+	 */
+	public static int index(long hole, long board) {
+
+		int stage = getStage(board);
+		if (stage == Dealer.PRE_FLOP)
+			return PreflopTable.getClass(hole);
+
+		long s0 = getSuit(hole, board, 0), s1 = getSuit(hole, board, 1);					// code and pattern
+		long s2 = getSuit(hole, board, 2), s3 = getSuit(hole, board, 3);
+		long t;																				// sorting network
+		if (s0 > s1) { t = s0; s0 = s1; s1 = t; }
+		if (s2 > s3) { t = s2; s2 = s3; s3 = t; }
+		if (s0 > s2) { t = s0; s0 = s2; s2 = t; }
+		if (s1 > s3) { t = s1; s1 = s3; s3 = t; }
+		if (s1 > s2) { t = s1; s1 = s2; s2 = t; }
+
+		int c0 = getCode(s0), c1 = getCode(s1), c2 = getCode(s2), c3 = getCode(s3);
+		int configuration = CONFIGURATION[stage][((c0 * CODES + c1) * CODES + c2) * CODES + c3];
+		long index = 0, size = 1;
+		int[] codes = CODES_OF[stage][configuration];
+		long[] suits = {s0, s1, s2, s3};
+		for (int i = 0; i < codes.length; ) {
+			int j = i + 1;
+			while (j < codes.length && codes[j] == codes[i])
+				j++;
+			long group = 0;
+			for (int k = i; k < j; k++)
+				group += choose((int)suits[k] + k - i, k - i + 1);
+			index += size * group;
+			size *= choose(getPatterns(codes[i]) + j - i - 1, j - i);
+			i = j;
+		}
+		return OFFSET[stage][configuration] + (int)index;
+	}
+
+
+	/**
+	 * Returns the representative of a class, i.e., hole and community cards with the index.
+	 *
+	 * @param stage		the stage, e.g., {@code Dealer.FLOP}
+	 * @param index		the index in [0, {@code getSize(stage)})
+	 *
+	 * @return			the bits of the hole cards and the bits of the community cards
+	 */
+	public static long[] unindex(int stage, int index) {
+
+		if (index < 0 || index >= SIZE[stage])
+			throw new IllegalArgumentException("Illegal index " + index + " of stage " + stage + ".");
+		if (stage == Dealer.PRE_FLOP)
+			return new long[] {PreflopTable.getHoles(index)[0], CardSet.EMPTY};
+
+		int low = 0, high = OFFSET[stage].length - 1;									// the last offset <= index
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (OFFSET[stage][middle] <= index)
+				low = middle;
+			else
+				high = middle - 1;
+		}
+		int[] codes = CODES_OF[stage][low];
+		long rest = index - OFFSET[stage][low];
+		long[] cards = {CardSet.EMPTY, CardSet.EMPTY};
+		for (int i = 0; i < codes.length; ) {
+			int j = i + 1;
+			while (j < codes.length && codes[j] == codes[i])
+				j++;
+			int patterns = getPatterns(codes[i]);
+			long size = choose(patterns + j - i - 1, j - i);
+			long group = rest % size;
+			rest /= size;
+			for (int k = j - 1; k >= i; k--) {												// largest pattern first
+				int r = k - i + 1;
+				long n = getLargest(group, r, patterns + r - 2);
+				group -= choose(n, r);
+				addPattern(cards, codes[k], (int)n - r + 1, k);
+			}
+			i = j;
+		}
+		return cards;
+	}
+
+
+	/**
+	 * Sets up the configurations of a stage, i.e., all sorted codes of the suits, their offsets, and the number of
+	 * classes.
+	 *
+	 * @param stage		the stage
+	 */
+	private static void setupStage(int stage) {
+
+		List<int[]> configurations = new ArrayList<>();
+		int[] codes = new int[Card.NUMBER_OF_SUITS];
+		addConfigurations(configurations, codes, 0, CODES - 1, HOLE, BOARD[stage]);
+
+		CONFIGURATION[stage] = new int[CODES * CODES * CODES * CODES];
+		Arrays.fill(CONFIGURATION[stage], -1);
+		CODES_OF[stage] = configurations.toArray(new int[configurations.size()][]);
+		OFFSET[stage] = new int[configurations.size()];
+		long offset = 0;
+		for (int c = 0; c < configurations.size(); c++) {
+			int[] code = CODES_OF[stage][c];
+			CONFIGURATION[stage][((code[0] * CODES + code[1]) * CODES + code[2]) * CODES + code[3]] = c;
+			OFFSET[stage][c] = (int)offset;
+			long size = 1;
+			for (int i = 0; i < code.length; ) {
+				int j = i + 1;
+				while (j < code.length && code[j] == code[i])
+					j++;
+				size *= choose(getPatterns(code[i]) + j - i - 1, j - i);
+				i = j;
+			}
+			offset += size;
+		}
+		SIZE[stage] = (int)offset;
+	}
+
+
+	/**
+	 * Adds all configurations, i.e., codes of the suits in descending order with the given numbers of cards.
+	 *
+	 * @param configurations	the configurations
+	 * @param codes				the codes of the suits so far
+	 * @param suit				the next suit
+	 * @param max				the maximal code of the next suit
+	 * @param hole				the number of hole cards left
+	 * @param board				the number of community cards left
+	 */
+	private static void addConfigurations(List<int[]> configurations, int[] codes, int suit, int max, int hole,
+			int board) {
+
+		if (suit == Card.NUMBER_OF_SUITS) {
+			if (hole == 0 && board == 0)
+				configurations.add(codes.clone());
+			return;
+		}
+		for (int code = max; code >= 0; code--) {
+			int h = code / 6, b = code % 6;
+			if (h <= hole && b <= board) {
+				codes[suit] = code;
+				addConfigurations(configurations, codes, suit + 1, code, hole - h, board - b);
+			}
+		}
+	}
+
+
+	/**
+	 * Returns the code and the pattern index of a suit for sorting, where the suits with more cards come first, and
+	 * the patterns of suits with the same code are in ascending order.
+	 *
+	 * @param hole		the bits of the hole cards
+	 * @param board		the bits of the community cards
+	 * @param suit		the suit
+	 *
+	 * @return			the inverted code in the upper, and the pattern index in the lower 32 bits
+	 */
+	private static long getSuit(long hole, long board, int suit) {
+
+		int holeRanks = CardSet.getSuitMask(hole, suit);
+		int boardRanks = CardSet.getSuitMask(board, suit);
+		int h = Integer.bitCount(holeRanks), b = Integer.bitCount(boardRanks);
+		int pattern = RANK_SET_INDEX[holeRanks] * BINOMIAL[Card.NUMBER_OF_RANKS - h][b]
+				+ RANK_SET_INDEX[squeeze(boardRanks, holeRanks)];
+
+		return (long)(CODES - 1 - (h * 6 + b)) << 32 | pattern;
+	}
+
+
+	/**
+	 * Returns the code of a sorted suit.
+	 *
+	 * @param suit		the inverted code and the pattern index
+	 *
+	 * @return			the code
+	 */
+	private static int getCode(long suit) {
+
+		return CODES - 1 - (int)(suit >>> 32);
+	}
+
+
+	/**
+	 * Returns the number of patterns of a code, i.e., the number of hole and community rank sets of a suit.
+	 *
+	 * @param code		the code
+	 *
+	 * @return			the number of patterns
+	 */
+	private static int getPatterns(int code) {
+
+		int h = code / 6, b = code % 6;
+
+		return BINOMIAL[Card.NUMBER_OF_RANKS][h] * BINOMIAL[Card.NUMBER_OF_RANKS - h][b];
+	}
+
+
+	/**
+	 * Adds the cards of a pattern in a suit.
+	 *
+	 * @param cards		the bits of the hole and the community cards
+	 * @param code		the code of the suit
+	 * @param pattern	the pattern index
+	 * @param suit		the suit
+	 */
+	private static void addPattern(long[] cards, int code, int pattern, int suit) {
+
+		int h = code / 6, b = code % 6;
+		int boards = BINOMIAL[Card.NUMBER_OF_RANKS - h][b];
+		int holeRanks = INDEX_RANK_SET[h][pattern / boards];
+		int boardRanks = expand(INDEX_RANK_SET[b][pattern % boards], holeRanks);
+
+		cards[0] |= (long)holeRanks << suit * CardSet.SUIT_BITS;
+		cards[1] |= (long)boardRanks << suit * CardSet.SUIT_BITS;
+	}
+
+
+	/**
+	 * Removes the ranks used from a rank set, i.e., each rank is lowered by the number of ranks used below it.
+	 *
+	 * @param ranks		a rank set
+	 * @param used		the ranks used (not in the rank set)
+	 *
+	 * @return			the squeezed rank set
+	 */
+	private static int squeeze(int ranks, int used) {
+
+		int squeezed = 0;
+
+		for (; ranks != 0; ranks &= ranks - 1) {
+			int rank = Integer.numberOfTrailingZeros(ranks);
+			squeezed |= 1 << rank - Integer.bitCount(used & (1 << rank) - 1);
+		}
+		return squeezed;
+	}
+
+
+	/**
+	 * Inserts the ranks used into a squeezed rank set, i.e., each rank becomes the rank not used with this number.
+	 *
+	 * @param ranks		a squeezed rank set
+	 * @param used		the ranks used
+	 *
+	 * @return			the rank set
+	 */
+	private static int expand(int ranks, int used) {
+
+		int expanded = 0;
+
+		for (int rank = 0, free = 0; ranks >> free != 0; rank++) {
+			if ((used & 1 << rank) == 0) {
+				if ((ranks & 1 << free) != 0)
+					expanded |= 1 << rank;
+				free++;
+			}
+		}
+		return expanded;
+	}
+
+
+	/**
+	 * Returns the largest n with C(n, r) not exceeding a value.
+	 *
+	 * @param value		the value
+	 * @param r			the lower index
+	 * @param max		an upper bound of n
+	 *
+	 * @return			n
+	 */
+	private static long getLargest(long value, int r, long max) {
+
+		long low = r - 1, high = max;
+
+		while (low < high) {
+			long middle = (low + high + 1) >>> 1;
+			if (choose(middle, r) <= value)
+				low = middle;
+			else
+				high = middle - 1;
+		}
+		return low;
+	}
+
+
+	/**
+	 * Returns a binomial coefficient of the ranks, 0 if the lower index exceeds the upper one.
+	 *
+	 * @param n		the upper index
+	 * @param k		the lower index
+	 *
+	 * @return		C(n, k)
+	 */
+	private static int getBinomial(int n, int k) {
+
+		return k > n ? 0 : BINOMIAL[n][k];
+	}
+
+
+	/**
+	 * Returns a binomial coefficient for a small lower index.
+	 *
+	 * @param n		the upper index
+	 * @param r		the lower index (at most 4)
+	 *
+	 * @return		C(n, r), 0 if r exceeds n
+	 */
+	private static long choose(long n, int r) {
+
+		if (r > n)
+			return 0;
+		long c = 1;
+		for (int i = 0; i < r; i++)
+			c = c * (n - i) / (i + 1);
+		return c;
+	}
+
+}
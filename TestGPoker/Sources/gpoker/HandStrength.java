@@ -0,0 +1,462 @@
+package gpoker;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The hand strength (HS) and the positive and negative hand potential (PPot, NPot) of hole cards with the community
+ * cards after Billings et al. The hand strength is the probability that the hand is currently ahead of one opponent
+ * with random hole cards (ties count half). The positive potential is the probability that a hand currently behind
+ * gets ahead with the cards still to come, and the negative potential that a hand currently ahead falls behind, where
+ * all opponent hole cards and all (up to two) cards to come are enumerated. Against n opponents the hand strength is
+ * raised to the n-th power. Before the flop the strength is the equity of the {@code PreflopTable}, and there are no
+ * potentials.
+ * <p>
+ * On the flop the enumeration ranks about a million hands, hence the metrics are memoized by the index of the hole and
+ * community cards of the {@code HandIndexer}, so hands equal up to suits share an entry. The metrics of a class are
+ * packed into a long. The flops are memoized in a flat array, the turns and rivers (too many for an array, and fast to
+ * compute) only in a map of the {@code CAPACITY} classes used most recently. The flops of a number of starting hand
+ * classes may be computed in advance on all cores.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class HandStrength {
+
+	/** The number of metrics (HS, PPot, NPot). */
+	public static final int NUMBER_OF_METRICS = 3;
+
+	/** The indices of the metrics. */
+	public static final int HS = 0, PPOT = 1, NPOT = 2;
+
+	/** The maximal number of turns and rivers memoized. */
+	public static final int CAPACITY = 1 << 19;
+
+	/** The number of flops computed by a task without splitting. */
+	private static final int CHUNK = 16;
+
+	/** The outcomes of a comparison of the hand with an opponent. */
+	private static final int AHEAD = 0, TIED = 1, BEHIND = 2;
+
+	/** The card set bits of the cards by card index. */
+	private static final long[] BITS = new long[Card.NUMBER_OF_CARDS];
+
+	static {
+		for (int i = 0; i < Card.NUMBER_OF_CARDS; i++)
+			BITS[i] = CardSet.getBit(Card.ofIndex(i));
+	}
+
+	/** The number of bits of a packed metric. */
+	private static final int PACKED_BITS = 21;
+
+	/** The largest packed metric, i.e., the packed 1. */
+	private static final int PACKED_ONE = (1 << PACKED_BITS) - 1;
+
+	/** The flag of packed metrics, so computed metrics are never 0. */
+	private static final long COMPUTED = 1L << 63;
+
+	/** The metrics before the flop, where there are no potentials, and the strength is not memoized. */
+	private static final float[] NO_POTENTIAL = new float[NUMBER_OF_METRICS];
+
+	/** The packed metrics of the flops by index, 0 if not computed yet, created on first demand. */
+	private static AtomicLongArray flops;
+
+	/** The number of flops computed. */
+	private static final AtomicInteger flopEntries = new AtomicInteger();
+
+	/** The packed metrics of the turns and rivers by stage and index in the order of access. */
+	private static final Map<Long, Long> cache = new LinkedHashMap<Long, Long>(16, 0.75f, true) {
+		protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+
+			return size() > CAPACITY;
+		}
+	};
+
+	/** The number of requests and of requests not memoized. */
+	private static final AtomicLong requests = new AtomicLong(), misses = new AtomicLong();
+
+	/** Indicates that the metrics are features of the players. */
+	private static boolean enabled;
+
+	/** The table of the preflop strength, opened with defaults on first demand if not set. */
+	private static volatile PreflopTable preflop;
+
+
+	/** No instances. */
+	private HandStrength() {
+
+	}
+
+
+	/**
+	 * Enables the metrics as features of the {@code CodePlayer} and inputs of the {@code TDPlayer}. This has to be set
+	 * before any player is created, as it changes the number of features.
+	 *
+	 * @param enabled	true, if the metrics are features
+	 */
+	public static void setEnabled(boolean enabled) {
+
+		HandStrength.enabled = enabled;
+	}
+
+
+	/**
+	 * Checks if the metrics are features of the players.
+	 *
+	 * @return	true, if enabled
+	 */
+	public static boolean isEnabled() {
+
+		return enabled;
+	}
+
+
+	/**
+	 * Sets the table of the preflop strength. The table should be set before the first preflop decision, as a table
+	 * opened on demand may have to be generated first.
+	 *
+	 * @param table		a table of preflop equities
+	 */
+	public static void setPreflopTable(PreflopTable table) {
+
+		preflop = table;
+	}
+
+
+	/**
+	 * Returns the hand strength against a number of opponents.
+	 *
+	 * @param hole			the bits of the hole cards
+	 * @param board			the bits of the community cards (0, 3, 4, or 5)
+	 * @param opponents		the number of opponents (at least 1)
+	 *
+	 * @return				the strength in [0, 1]
+	 */
+	public static double getStrength(long hole, long board, int opponents) {
+
+		opponents = Math.max(1, Math.min(opponents, PreflopTable.MAX_OPPONENTS));
+		if (board == CardSet.EMPTY) {
+			PreflopTable table = preflop;
+			if (table == null)
+				preflop = table = PreflopTable.open();
+			return table == null ? 0.5 : table.getEquity(PreflopTable.getClass(hole), opponents);
+		}
+		return Math.pow(get(hole, board)[HS], opponents);
+	}
+
+
+	/**
+	 * Returns the metrics of hole cards against one opponent. The metrics are memoized, and the array returned must
+	 * not be changed. The metrics are rounded to 21 bits (also when computed), so they do not depend on being memoized.
+	 *
+	 * @param hole		the bits of the hole cards
+	 * @param board		the bits of the community cards (0, 3, 4, or 5)
+	 *
+	 * @return			HS, PPot, and NPot, only zeros before the flop
+	 */
+	public static float[] get(long hole, long board) {
+
+		int stage = HandIndexer.getStage(board);
+		if (stage == Dealer.PRE_FLOP)
+			return NO_POTENTIAL;
+
+		requests.incrementAndGet();
+		int index = HandIndexer.index(hole, board);
+		if (stage == Dealer.FLOP) {
+			AtomicLongArray packed = getFlops();
+			long metrics = packed.get(index);
+			if (metrics == 0) {
+				misses.incrementAndGet();
+				metrics = pack(compute(hole, board));
+				if (packed.compareAndSet(index, 0, metrics))
+					flopEntries.incrementAndGet();
+			}
+			return unpack(metrics);
+		}
+
+		Long key = (long)stage << 32 | index;
+		Long metrics;
+		synchronized (cache) {
+			metrics = cache.get(key);
+		}
+		if (metrics == null) {
+			misses.incrementAndGet();
+			metrics = pack(compute(hole, board));
+			synchronized (cache) {
+				cache.put(key, metrics);
+			}
+		}
+		return unpack(metrics);
+	}
+
+
+	/**
+	 * Computes the metrics of hole cards against one opponent without memoization.
+	 *
+	 * @param hole		the bits of the hole cards
+	 * @param board		the bits of the community cards (3, 4, or 5)
+	 *
+	 * @return			HS, PPot, and NPot
+	 */
+	public static float[] compute(long hole, long board) {
+
+		long known = hole | board;
+		int[] unseen = new int[Card.NUMBER_OF_CARDS];
+		int count = 0;
+		for (int i = 0; i < Card.NUMBER_OF_CARDS; i++) {
+			if ((known & BITS[i]) == 0)
+				unseen[count++] = i;
+		}
+
+		int combinations = count * (count - 1) / 2;
+		long[] opponents = new long[combinations];
+		int[] now = new int[combinations];
+		long[] total = new long[3];
+		int rank = LookupEvaluator.rank(known);
+		for (int i = 0, c = 0; i < count; i++)
+			for (int j = i + 1; j < count; j++, c++) {
+				opponents[c] = BITS[unseen[i]] | BITS[unseen[j]];
+				now[c] = compare(rank, LookupEvaluator.rank(opponents[c] | board));
+				++total[now[c]];
+			}
+		float[] metrics = new float[NUMBER_OF_METRICS];
+		metrics[HS] = (float)((total[AHEAD] + total[TIED] / 2.0) / combinations);
+		int missing = 5 - Long.bitCount(board);
+		if (missing == 0)
+			return metrics;
+
+		long[][] hp = new long[3][3];												// by outcome now and at the end
+		if (missing == 1) {
+			for (int i = 0; i < count; i++)
+				addRunout(hp, hole, board | BITS[unseen[i]], opponents, now);
+		} else {
+			for (int i = 0; i < count; i++)
+				for (int j = i + 1; j < count; j++)
+					addRunout(hp, hole, board | BITS[unseen[i]] | BITS[unseen[j]], opponents, now);
+		}
+		double behind = hp[BEHIND][AHEAD] + hp[BEHIND][TIED] + hp[BEHIND][BEHIND];
+		double tied = hp[TIED][AHEAD] + hp[TIED][TIED] + hp[TIED][BEHIND];
+		double ahead = hp[AHEAD][AHEAD] + hp[AHEAD][TIED] + hp[AHEAD][BEHIND];
+		if (behind + tied > 0)
+			metrics[PPOT] = (float)((hp[BEHIND][AHEAD] + hp[BEHIND][TIED] / 2.0 + hp[TIED][AHEAD] / 2.0)
+					/ (behind + tied / 2.0));
+		if (ahead + tied > 0)
+			metrics[NPOT] = (float)((hp[AHEAD][BEHIND] + hp[TIED][BEHIND] / 2.0 + hp[AHEAD][TIED] / 2.0)
+					/ (ahead + tied / 2.0));
+		return metrics;
+	}
+
+
+	/**
+	 * Precomputes the metrics of all flops of a number of starting hand classes in parallel. Flops equal up to a
+	 * permutation of suits (with the same index), and flops already memoized, are computed only once.
+	 *
+	 * @param classes	the indices of the starting hand classes
+	 * @param threads	the number of threads
+	 *
+	 * @return			the number of flops computed
+	 */
+	public static int precompute(int[] classes, int threads) {
+
+		AtomicLongArray packed = getFlops();
+		BitSet queued = new BitSet();
+		for (int c : classes) {
+			long hole = PreflopTable.getHoles(c)[0];								// all holes of a class are alike
+			int[] cards = new int[Card.NUMBER_OF_CARDS];
+			int count = 0;
+			for (int i = 0; i < Card.NUMBER_OF_CARDS; i++) {
+				if ((hole & BITS[i]) == 0)
+					cards[count++] = i;
+			}
+			for (int i = 0; i < count; i++)
+				for (int j = i + 1; j < count; j++)
+					for (int k = j + 1; k < count; k++) {
+						int index = HandIndexer.index(hole, BITS[cards[i]] | BITS[cards[j]] | BITS[cards[k]]);
+						if (packed.get(index) == 0)
+							queued.set(index);
+					}
+		}
+
+		final int[] todo = queued.stream().toArray();
+		List<Callable<Void>> tasks = new ArrayList<>();
+		for (int from = 0; from < todo.length; from += CHUNK) {
+			final int start = from, end = Math.min(from + CHUNK, todo.length);
+			tasks.add(new Callable<Void>() {
+				public Void call() {
+
+					for (int i = start; i < end; i++) {
+						long[] cards = HandIndexer.unindex(Dealer.FLOP, todo[i]);		// a representative
+						get(cards[0], cards[1]);
+					}
+					return null;
+				}
+			});
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+		try {
+			for (Future<Void> result : pool.invokeAll(tasks))
+				result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Hand strength precomputation interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Hand strength precomputation failed.", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+		return todo.length;
+	}
+
+
+	/**
+	 * Returns the indices of starting hand classes parsed from a string.
+	 *
+	 * @param classes	the names of the classes separated by blanks (e.g., 'AA AKs T9o'), or "all"
+	 *
+	 * @return			the indices, null if the string is null or a name is unknown
+	 */
+	public static int[] parseClasses(String classes) {
+
+		if (classes == null)
+			return null;
+		if (classes.trim().equals("all")) {
+			int[] all = new int[PreflopTable.NUMBER_OF_CLASSES];
+			for (int c = 0; c < all.length; c++)
+				all[c] = c;
+			return all;
+		}
+
+		String[] names = classes.trim().split("\\s+");
+		int[] indices = new int[names.length];
+		for (int i = 0; i < names.length; i++) {
+			indices[i] = -1;
+			for (int c = 0; c < PreflopTable.NUMBER_OF_CLASSES && indices[i] < 0; c++) {
+				if (PreflopTable.getName(c).equals(names[i]))
+					indices[i] = c;
+			}
+			if (indices[i] < 0) {
+				System.out.println("Unknown starting hand '" + names[i] + "'.");
+				return null;
+			}
+		}
+		return indices;
+	}
+
+
+	/**
+	 * Returns the number of memoized entries.
+	 *
+	 * @return	the number of entries
+	 */
+	public static int size() {
+
+		synchronized (cache) {
+			return flopEntries.get() + cache.size();
+		}
+	}
+
+
+	/**
+	 * Returns the statistics of the memoization.
+	 *
+	 * @return	a string with the entries, requests, and hits
+	 */
+	public static String getStatistics() {
+
+		long r = requests.get();
+		return "HandStrength: " + size() + " entries, " + r + " requests, " + (r - misses.get()) + " hits";
+	}
+
+
+	/**
+	 * Returns the packed metrics of the flops, which are created on first demand.
+	 *
+	 * @return	the packed metrics by index
+	 */
+	private static synchronized AtomicLongArray getFlops() {
+
+		if (flops == null)
+			flops = new AtomicLongArray(HandIndexer.getSize(Dealer.FLOP));
+		return flops;
+	}
+
+
+	/**
+	 * Packs metrics into a long, each metric rounded to 21 bits.
+	 *
+	 * @param metrics	the metrics in [0, 1]
+	 *
+	 * @return			the packed metrics with the computed flag
+	 */
+	private static long pack(float[] metrics) {
+
+		long packed = COMPUTED;
+
+		for (int i = 0; i < NUMBER_OF_METRICS; i++)
+			packed |= (long)Math.round(metrics[i] * PACKED_ONE) << i * PACKED_BITS;
+		return packed;
+	}
+
+
+	/**
+	 * Unpacks metrics from a long.
+	 *
+	 * @param packed	the packed metrics
+	 *
+	 * @return			the metrics
+	 */
+	private static float[] unpack(long packed) {
+
+		float[] metrics = new float[NUMBER_OF_METRICS];
+
+		for (int i = 0; i < NUMBER_OF_METRICS; i++)
+			metrics[i] = (float)(packed >>> i * PACKED_BITS & PACKED_ONE) / PACKED_ONE;
+		return metrics;
+	}
+
+
+	/**
+	 * Counts the outcomes of a runout against all opponent hole cards not in the runout.
+	 *
+	 * @param hp			the counts by outcome now and at the end
+	 * @param hole			the bits of the hole cards
+	 * @param full			the bits of the complete community cards
+	 * @param opponents		the bits of the hole cards of the opponents
+	 * @param now			the outcome now of each opponent
+	 */
+	private static void addRunout(long[][] hp, long hole, long full, long[] opponents, int[] now) {
+
+		int rank = LookupEvaluator.rank(hole | full);
+
+		for (int c = 0; c < opponents.length; c++) {
+			if ((opponents[c] & full) == 0)
+				++hp[now[c]][compare(rank, LookupEvaluator.rank(opponents[c] | full))];
+		}
+	}
+
+
+	/**
+	 * Compares the rank of the hand with the rank of an opponent.
+	 *
+	 * @param rank		the rank of the hand
+	 * @param other		the rank of the opponent
+	 *
+	 * @return			AHEAD, TIED, or BEHIND
+	 */
+	private static int compare(int rank, int other) {
+
+		return rank > other ? AHEAD : rank == other ? TIED : BEHIND;
+	}
+
+}
@@ -0,0 +1,415 @@
+package gpoker;
+
+import java.util.List;
+
+/**
+ * The lookup evaluator for Texas Hold'em. It maps any number of cards (up to seven) to a single rank, which orders all
+ * hands including their kickers. The rank is computed from the rank masks of the four suits using two precomputed
+ * tables indexed by a 13 bit rank mask, so neither sorting nor scanning of cards is necessary.
+ * <p>
+ * The rank has the hand value (e.g., {@code Hand.FLUSH}) in bits 20 - 23 and up to five card ranks in the
+ * nibbles below. The highest nibble (bits 16 - 19) holds the rank of the pivot card, the following nibbles hold the
+ * ranks deciding ties (e.g., the second pair and the kicker of two pair).
+ *
+ * @author agent
+ * @since October 17, 2026
+ *
+ */
+public class LookupEvaluator extends Evaluator {
+
+	/** The number of possible rank masks. */
+	private static final int MASKS = 1 << Card.NUMBER_OF_RANKS;
+
+	/** The shift of the hand value in a rank. */
+	private static final int VALUE_SHIFT = 20;
+
+	/** The shift of the pivot rank in a rank. */
+	private static final int PIVOT_SHIFT = 16;
+
+	/** The rank mask of a straight A-2-3-4-5. */
+	private static final int WHEEL = 1 << Card.ACE | 1 << Card.FIVE | 1 << Card.FOUR | 1 << Card.THREE | 1 << Card.DEUCE;
+
+	/** The top rank of the highest straight in a rank mask, -1 if there is none. */
+	private static final int[] STRAIGHTS = new int[MASKS];
+
+	/** The (up to) five highest ranks of a rank mask packed in nibbles, the highest rank in the highest nibble. */
+	private static final int[] TOP_FIVE = new int[MASKS];
+
+	static {
+		for (int mask = 0; mask < MASKS; mask++) {
+			STRAIGHTS[mask] = -1;
+			for (int top = Card.ACE; top >= Card.FIVE; top--) {
+				int straight = top == Card.FIVE ? WHEEL : 0x1F << (top - 4);
+				if ((mask & straight) == straight) {
+					STRAIGHTS[mask] = top;
+					break;
+				}
+			}
+			int packed = 0;
+			int count = 0;
+			for (int rank = Card.ACE; rank >= Card.DEUCE && count < 5; rank--) {
+				if ((mask & 1 << rank) != 0)
+					packed |= rank << 4 * (4 - count++);
+			}
+			TOP_FIVE[mask] = packed;
+		}
+	}
+
+	/** The rank masks of the suits. */
+	private final int[] masks;
+
+
+	/** Constructs the evaluator. */
+	public LookupEvaluator() {
+
+		super();
+		masks = new int[Card.NUMBER_OF_SUITS];
+	}
+
+
+	/**
+	 * Evaluates the given player hand using the additional cards. Both the value and the rank of the hand are set.
+	 *
+	 * @param playerHand	the hand of a player
+	 * @param cards			additional cards, may be null
+	 */
+	public void evaluate(Hand playerHand, List<Card> cards) {
+
+		clearMasks();
+		addToMasks(playerHand.getCards());
+		if (cards != null)
+			addToMasks(cards);
+		int rank = rank(masks[Card.CLUBS], masks[Card.DIAMONDS], masks[Card.SPADES], masks[Card.HEARTS]);
+		playerHand.setValue(getValue(rank));
+		playerHand.setRank(rank);
+	}
+
+
+	/** Evaluates the given cards.
+	 *
+	 * @param cards		some cards, may not be null
+	 *
+	 * @return          the value of the cards
+	 *
+	 */
+	public int evaluate(List<Card> cards) {
+
+		clearMasks();
+		addToMasks(cards);
+		return getValue(rank(masks[Card.CLUBS], masks[Card.DIAMONDS], masks[Card.SPADES], masks[Card.HEARTS]));
+	}
+
+
+	/**
+	 * Evaluates the given player hand using the additional cards given as a card set. Both the value and the rank of
+	 * the hand are set.
+	 *
+	 * @param playerHand	the hand of a player
+	 * @param cards			additional cards
+	 */
+	public void evaluate(Hand playerHand, CardSet cards) {
+
+		int rank = rank(playerHand.getCardSet().getBits() | cards.getBits());
+		playerHand.setValue(getValue(rank));
+		playerHand.setRank(rank);
+	}
+
+
+	/** Evaluates the cards of a card set.
+	 *
+	 * @param cards		a card set
+	 *
+	 * @return          the value of the cards
+	 *
+	 */
+	public int evaluate(CardSet cards) {
+
+		return getValue(rank(cards.getBits()));
+	}
+
+
+	/**
+	 * Determines the better of two evaluated hands by simply comparing their ranks.
+	 *
+	 * @param h1        first Hand
+	 * @param h2        second hand
+	 * @param cards		additional cards, not used here
+	 *
+	 * @return 			1 if hand1 is better, 2 if hand2 , 0 if equal
+	 */
+	public int resolve(Hand h1, Hand h2, List<Card> cards) {
+
+		if (h1.getRank() > h2.getRank())
+			return 1;
+		if (h1.getRank() < h2.getRank())
+			return 2;
+		return 0;
+	}
+
+
+	/**
+	 * Returns the pivot card of an evaluated hand. The pivot rank is taken from the rank of the hand, hence the hand
+	 * must have been evaluated with the same additional cards.
+	 *
+	 * @param hand		a hand
+	 * @param cards		additional cards, may be null
+	 *
+	 * @return 			the pivot card
+	 */
+	public Card getPivot(Hand hand, List<Card> cards) {
+
+		int rank = getPivotRank(hand.getRank());
+		int suit = Card.BLANK;
+
+		if (hand.getValue() == Hand.FLUSH || hand.getValue() == Hand.STRAIGHT_FLUSH) {
+			clearMasks();
+			addToMasks(hand.getCards());
+			if (cards != null)
+				addToMasks(cards);
+			suit = getFlushSuit(masks[Card.CLUBS], masks[Card.DIAMONDS], masks[Card.SPADES], masks[Card.HEARTS]);
+		}
+		Card pivot = findCard(hand.getCards(), rank, suit);
+		if (pivot == null && cards != null)
+			pivot = findCard(cards, rank, suit);
+
+		return pivot == null ? Card.BLANK_CARD : pivot;		// should not happen
+	}
+
+
+	/**
+	 * Returns the pivot card of an evaluated hand with additional cards given as a card set. The pivot rank is taken
+	 * from the rank of the hand, hence the hand must have been evaluated with the same additional cards.
+	 *
+	 * @param hand		a hand
+	 * @param cards		additional cards
+	 *
+	 * @return 			the pivot card
+	 */
+	public Card getPivot(Hand hand, CardSet cards) {
+
+		int rank = getPivotRank(hand.getRank());
+		long bits = hand.getCardSet().getBits() | cards.getBits();
+		int suit = Card.BLANK;
+
+		if (hand.getValue() == Hand.FLUSH || hand.getValue() == Hand.STRAIGHT_FLUSH)
+			suit = CardSet.getFlushSuit(bits);
+		else {
+			for (int s = 0; s < Card.NUMBER_OF_SUITS && suit == Card.BLANK; s++) {
+				if ((bits & CardSet.getBit(rank, s)) != 0)
+					suit = s;
+			}
+		}
+		return Card.of(rank, suit);
+	}
+
+
+	/**
+	 * Returns the rank of the cards of a card set.
+	 *
+	 * @param bits		a card set
+	 *
+	 * @return			the rank, the higher the better
+	 */
+	public static int rank(long bits) {
+
+		return rank(CardSet.getSuitMask(bits, Card.CLUBS), CardSet.getSuitMask(bits, Card.DIAMONDS),
+				CardSet.getSuitMask(bits, Card.SPADES), CardSet.getSuitMask(bits, Card.HEARTS));
+	}
+
+
+	/**
+	 * Returns the rank of the cards given by the rank masks of the four suits. A bit set in a mask represents the
+	 * card with the corresponding rank and suit. The masks may represent an arbitrary number of cards, however, only
+	 * up to seven cards are guaranteed to be ranked correctly.
+	 *
+	 * @param clubs		the rank mask of clubs
+	 * @param diamonds	the rank mask of diamonds
+	 * @param spades	the rank mask of spades
+	 * @param hearts	the rank mask of hearts
+	 *
+	 * @return			the rank, the higher the better
+	 */
+	public static int rank(int clubs, int diamonds, int spades, int hearts) {
+
+		int flushSuit = getFlushSuit(clubs, diamonds, spades, hearts);
+		int flush = 0;
+
+		if (flushSuit != -1) {
+			flush = flushSuit == Card.CLUBS ? clubs : flushSuit == Card.DIAMONDS ? diamonds :
+					flushSuit == Card.SPADES ? spades : hearts;
+			int top = STRAIGHTS[flush];
+			if (top != -1)
+				return Hand.STRAIGHT_FLUSH << VALUE_SHIFT | top << PIVOT_SHIFT;
+		}
+
+		int single = clubs | diamonds | spades | hearts;					// ranks at least once
+		int pair = clubs & diamonds | (clubs | diamonds) & (spades | hearts) | spades & hearts;	// at least twice
+		int quads = clubs & diamonds & spades & hearts;
+		int trips = (clubs & diamonds & (spades | hearts) | spades & hearts & (clubs | diamonds)) & ~quads;
+
+		if (quads != 0) {
+			int q = top(quads);
+			return Hand.FOUR_OF_A_KIND << VALUE_SHIFT | q << PIVOT_SHIFT | topRanks(single & ~(1 << q), 1) << 12;
+		}
+		if (trips != 0) {
+			int t = top(trips);
+			int rest = pair & ~(1 << t);
+			if (rest != 0)
+				return Hand.FULL_HOUSE << VALUE_SHIFT | t << PIVOT_SHIFT | top(rest) << 12;
+		}
+		if (flushSuit != -1)
+			return Hand.FLUSH << VALUE_SHIFT | TOP_FIVE[flush];
+
+		int top = STRAIGHTS[single];
+		if (top != -1)
+			return Hand.STRAIGHT << VALUE_SHIFT | top << PIVOT_SHIFT;
+
+		if (trips != 0) {
+			int t = top(trips);
+			return Hand.THREE_OF_A_KIND << VALUE_SHIFT | t << PIVOT_SHIFT | topRanks(single & ~(1 << t), 2) << 8;
+		}
+		if (pair != 0) {
+			int p1 = top(pair);
+			int rest = pair & ~(1 << p1);
+			if (rest != 0) {
+				int p2 = top(rest);
+				return Hand.TWO_PAIR << VALUE_SHIFT | p1 << PIVOT_SHIFT | p2 << 12
+						| topRanks(single & ~(1 << p1 | 1 << p2), 1) << 8;
+			}
+			return Hand.ONE_PAIR << VALUE_SHIFT | p1 << PIVOT_SHIFT | topRanks(single & ~(1 << p1), 3) << 4;
+		}
+		return Hand.HIGH_CARD << VALUE_SHIFT | TOP_FIVE[single];
+	}
+
+
+	/**
+	 * Returns the hand value of a rank.
+	 *
+	 * @param rank	a rank
+	 *
+	 * @return		the hand value, e.g. {@code Hand.FLUSH}
+	 */
+	public static int getValue(int rank) {
+
+		return rank >>> VALUE_SHIFT;
+	}
+
+
+	/**
+	 * Returns the card rank of the pivot card of a rank.
+	 *
+	 * @param rank	a rank
+	 *
+	 * @return		the card rank of the pivot, e.g. {@code Card.ACE}
+	 */
+	public static int getPivotRank(int rank) {
+
+		return rank >>> PIVOT_SHIFT & 0xF;
+	}
+
+
+	/**
+	 * Returns the top rank of the highest straight in a rank mask.
+	 *
+	 * @param mask	a rank mask
+	 *
+	 * @return		the top rank of the straight, -1 if none
+	 */
+	public static int getStraightRank(int mask) {
+
+		return STRAIGHTS[mask];
+	}
+
+
+	/**
+	 * Returns the suit having at least five cards.
+	 *
+	 * @param clubs		the rank mask of clubs
+	 * @param diamonds	the rank mask of diamonds
+	 * @param spades	the rank mask of spades
+	 * @param hearts	the rank mask of hearts
+	 *
+	 * @return			the flush suit, -1 if none
+	 */
+	private static int getFlushSuit(int clubs, int diamonds, int spades, int hearts) {
+
+		if (Integer.bitCount(clubs) >= 5)
+			return Card.CLUBS;
+		if (Integer.bitCount(diamonds) >= 5)
+			return Card.DIAMONDS;
+		if (Integer.bitCount(spades) >= 5)
+			return Card.SPADES;
+		if (Integer.bitCount(hearts) >= 5)
+			return Card.HEARTS;
+		return -1;
+	}
+
+
+	/**
+	 * Returns the highest rank of a rank mask.
+	 *
+	 * @param mask	a non-empty rank mask
+	 *
+	 * @return		the highest rank
+	 */
+	private static int top(int mask) {
+
+		return 31 - Integer.numberOfLeadingZeros(mask);
+	}
+
+
+	/**
+	 * Returns the given number of highest ranks of a rank mask packed in nibbles.
+	 *
+	 * @param mask		a rank mask
+	 * @param count		the number of ranks (max. 5)
+	 *
+	 * @return			the packed ranks, the highest in the highest nibble
+	 */
+	private static int topRanks(int mask, int count) {
+
+		return TOP_FIVE[mask] >>> 4 * (5 - count);
+	}
+
+
+	/** Clears the rank masks of the suits. */
+	private void clearMasks() {
+
+		for (int i = 0; i < masks.length; i++)
+			masks[i] = 0;
+	}
+
+
+	/**
+	 * Adds cards to the rank masks of the suits.
+	 *
+	 * @param cards		some cards
+	 */
+	private void addToMasks(List<Card> cards) {
+
+		for (int i = 0, n = cards.size(); i < n; i++) {
+			Card card = cards.get(i);
+			masks[card.getSuit()] |= 1 << card.getRank();
+		}
+	}
+
+
+	/**
+	 * Returns the first card with the given rank and suit.
+	 *
+	 * @param cards		some cards
+	 * @param rank		the rank
+	 * @param suit		the suit, {@code Card.BLANK} for any suit
+	 *
+	 * @return			the card, null if not found
+	 */
+	private static Card findCard(List<Card> cards, int rank, int suit) {
+
+		for (Card card : cards) {
+			if (card.getRank() == rank && (suit == Card.BLANK || card.getSuit() == suit))
+				return card;
+		}
+		return null;
+	}
+
+}
@@ -23,6 +23,9 @@ public class Move implements Cloneable {
 	/** The getBet. */
 	private int bet;
 
+	/** The bet as a factor of the pot, which is used by moves not knowing the pot of the table. */
+	private double potFactor;
+
 
 	/** A deep clone.
 	 *
@@ -52,6 +55,22 @@ public class Move implements Cloneable {
 	}
 
 
+	/** Copies another move into this move. It lets a player announce a shared move (e.g., of a program tree) in
+	 * its own move slot, which the dealer may change.
+	 *
+	 * @param other	the move to copy
+	 *
+	 * @return		this move
+	 */
+	public Move set(Move other) {
+
+		type = other.type;
+		bet = other.bet;
+		potFactor = other.potFactor;
+		return this;
+	}
+
+
 	/** Returns the move.
 	 *
 	 * @return	the move
@@ -92,6 +111,26 @@ public class Move implements Cloneable {
 	}
 
 
+	/** Returns the bet as a factor of the pot.
+	 *
+	 * @return	the pot factor
+	 */
+	public double getPotFactor() {
+
+		return potFactor;
+	}
+
+
+	/** Sets the bet as a factor of the pot. The player announcing the move has to compute the bet from it.
+	 *
+	 * @param potFactor	the pot factor
+	 */
+	public void setPotFactor(double potFactor) {
+
+		this.potFactor = potFactor;
+	}
+
+
 	/**
 	 * The string representation of the move.
 	 *
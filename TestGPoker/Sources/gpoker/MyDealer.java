@@ -33,7 +33,7 @@ public class MyDealer extends Dealer{
 
 		while (player.hasMove()) {
 			if (player.hasChips()) {
-				Move move = player.act();
+				Move move = requestMove(player);
 
 				if (!player.isTrusted() || move.getType() == Move.RAISE)
 					checkMove(player, move);						// is it allowed?
@@ -43,7 +43,7 @@ public class MyDealer extends Dealer{
 					return false;                                    // end of hand
 			}
 			else
-				Director.getInstance().getReporter().reportAllIn(player);
+				table.getReporter().reportAllIn(player);
 			player.setMove(false);									// has had its right to move
 			player = getNextPlayer(player);
 		}
@@ -37,6 +37,9 @@ public abstract class Player implements Comparable<Player> {
 	/** Indicates, if player may make a move. */
 	private boolean move;
 
+	/** The move slot reused for every move announced, so no move is allocated during play. */
+	private Move slot;
+
 	/** The wins measure. */
 	public int wins;
 
@@ -49,6 +52,12 @@ public abstract class Player implements Comparable<Player> {
 	/** The peep flag indicates visible hole cards in interactive play. */
 	private boolean peep;
 
+	/** The context of the table the player is sitting at. */
+	protected TableContext table;
+
+	/** The seat of the player at the table. */
+	private int seat = SeatRing.NO_SEAT;
+
 
 	/**
 	 * Creates the player via XML.
@@ -74,6 +83,7 @@ public abstract class Player implements Comparable<Player> {
 		this.chips = chips;
 		hand = new Hand();
 		moves = new ArrayList<>();
+		slot = new Move(Move.FOLD);
 	}
 
 
@@ -108,6 +118,7 @@ public abstract class Player implements Comparable<Player> {
 			clone = (Player)super.clone();
 			clone.hand = new Hand();
 			clone.hand.addCards(hand.getCards());
+			clone.slot = new Move(Move.FOLD);
 		} catch (CloneNotSupportedException ignore) {            // should not happen
 		}
 		return clone;
@@ -132,6 +143,67 @@ public abstract class Player implements Comparable<Player> {
 	}
 
 
+	/**
+	 * Returns the move slot of the player prepared for a move. The slot is reused for each move, hence a move
+	 * returned by {@code act()} is only valid until the next move of the player.
+	 *
+	 * @param type the type of the move
+	 *
+	 * @return the move with the given type and no bet
+	 */
+	protected Move getMove(int type) {
+
+		slot.setType(type);
+		slot.setBet(0);
+		slot.setPotFactor(0.0);
+		return slot;
+	}
+
+
+	/**
+	 * Returns the seat of the player at the table.
+	 *
+	 * @return the seat, {@code SeatRing.NO_SEAT} if not seated
+	 */
+	int getSeat() {
+
+		return seat;
+	}
+
+
+	/**
+	 * Sets the seat of the player at the table.
+	 *
+	 * @param seat the seat
+	 */
+	void setSeat(int seat) {
+
+		this.seat = seat;
+	}
+
+
+	/**
+	 * Returns the context of the table the player is sitting at.
+	 *
+	 * @return the table context
+	 */
+	public TableContext getTable() {
+
+		return table;
+	}
+
+
+	/**
+	 * Sets the context of the table the player is sitting at. This is done by the dealer of the table.
+	 *
+	 * @param table a table context
+	 */
+	public void setTable(TableContext table) {
+
+		this.table = table;
+	}
+
+
 	/**
 	 * Returns the name of the player.
 	 *
@@ -439,7 +511,7 @@ public abstract class Player implements Comparable<Player> {
 		chips -= b;
 		stageBets = b;
 		betsPerHand += b;
-		Director.getInstance().getReporter().reportBlind(this, blind);
+		table.getReporter().reportBlind(table.getDealer(), this, blind);
 
 		return blind;
 	}
@@ -464,7 +536,7 @@ public abstract class Player implements Comparable<Player> {
 	public void win(int chips) {
 
 		this.chips += chips;
-		Director.getInstance().getReporter().reportWin(chips, this);
+		table.getReporter().reportWin(chips, this);
 	}
 
 
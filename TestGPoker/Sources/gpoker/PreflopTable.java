@@ -0,0 +1,595 @@
+package gpoker;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * The preflop equities of the 169 classes of starting hands, i.e., hole cards equal up to a permutation of suits. For
+ * each class the table holds the equity against 1 to {@code MAX_OPPONENTS} opponents with random hole cards (the
+ * preflop hand strength), and the equity against each class head-to-head. A lookup is a single array read.
+ * <p>
+ * The classes are indexed by the ranks of the hole cards on a 13 x 13 grid, where suited hands have the high rank as
+ * row, offsuit hands have the high rank as column, and pairs are on the diagonal, hence the index is in [0, 168].
+ * <p>
+ * The equities are estimated by Monte Carlo sampling on all cores, where each class has a random number generator of
+ * its own split off a generator seeded by the seed, so the table only depends on the seed and the number of samples.
+ * The table is generated once (about 40 s on a single core) and saved in a binary file (by default, e.g.,
+ * 'preflop-42-20000.bin' in the working directory), which is loaded in a few milliseconds. A table file with a wrong
+ * header is generated again.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class PreflopTable {
+
+	/** The number of classes of starting hands. */
+	public static final int NUMBER_OF_CLASSES = Card.NUMBER_OF_RANKS * Card.NUMBER_OF_RANKS;
+
+	/** The maximal number of opponents. */
+	public static final int MAX_OPPONENTS = EquityCalculator.MAX_OPPONENTS;
+
+	/** The default seed and number of samples per equity. */
+	public static final long DEFAULT_SEED = 42;
+	public static final int DEFAULT_SAMPLES = 20000;
+
+	/** The magic number and version of the file format. */
+	private static final int MAGIC = 0x47505046;
+	private static final int VERSION = 1;
+
+	/** The size of the header holding magic number, version, seed, and number of samples. */
+	private static final int HEADER = 20;
+
+	/** The number of equities against random opponents and head-to-head. */
+	private static final int RANDOM_SIZE = NUMBER_OF_CLASSES * MAX_OPPONENTS;
+	private static final int HEAD_SIZE = NUMBER_OF_CLASSES * NUMBER_OF_CLASSES;
+
+	/** The tables opened so far by file name. */
+	private static final Map<String, PreflopTable> tables = new HashMap<>();
+
+	/** The card set bits of the cards by card index. */
+	private static final long[] BITS = new long[Card.NUMBER_OF_CARDS];
+
+	static {
+		for (int i = 0; i < Card.NUMBER_OF_CARDS; i++)
+			BITS[i] = CardSet.getBit(Card.ofIndex(i));
+	}
+
+	/** The seed of the table. */
+	private final long seed;
+
+	/** The number of samples per equity. */
+	private final int samples;
+
+	/** The equities against random opponents, class after class. */
+	private final float[] random;
+
+	/** The equities head-to-head, class after class. */
+	private final float[] head;
+
+
+	/**
+	 * Constructs a table.
+	 *
+	 * @param seed		the seed
+	 * @param samples	the number of samples per equity
+	 * @param random	the equities against random opponents
+	 * @param head		the equities head-to-head
+	 */
+	private PreflopTable(long seed, int samples, float[] random, float[] head) {
+
+		this.seed = seed;
+		this.samples = samples;
+		this.random = random;
+		this.head = head;
+	}
+
+
+	/**
+	 * Returns the table with default seed and number of samples.
+	 *
+	 * @return	the table, null if the file cannot be accessed
+	 */
+	public static PreflopTable open() {
+
+		return open(DEFAULT_SEED, DEFAULT_SAMPLES);
+	}
+
+
+	/**
+	 * Returns the table of a seed. A table already opened is shared, a valid table file is loaded, otherwise the table
+	 * is generated and saved.
+	 *
+	 * @param seed		the seed
+	 * @param samples	the number of samples per equity
+	 *
+	 * @return			the table, null if the number of samples is not positive, or the file cannot be accessed
+	 */
+	public static PreflopTable open(long seed, int samples) {
+
+		return open(getFileName(seed, samples), seed, samples);
+	}
+
+
+	/**
+	 * Returns the table of a seed in a file. A table already opened is shared, a valid table file is loaded, otherwise
+	 * the table is generated and saved.
+	 *
+	 * @param fileName	the name of the table file
+	 * @param seed		the seed
+	 * @param samples	the number of samples per equity
+	 *
+	 * @return			the table, null if the number of samples is not positive, or the file cannot be accessed
+	 */
+	public static synchronized PreflopTable open(String fileName, long seed, int samples) {
+
+		if (samples <= 0) {
+			System.out.println("Illegal number " + samples + " of preflop samples.");
+			return null;
+		}
+		PreflopTable table = tables.get(fileName);
+
+		if (table == null) {
+			table = load(fileName, seed, samples);
+			if (table == null) {
+				table = generate(seed, samples, Runtime.getRuntime().availableProcessors());
+				save(fileName, table);
+			}
+			tables.put(fileName, table);
+		}
+		return table;
+	}
+
+
+	/**
+	 * Returns the default name of a table file in the working directory.
+	 *
+	 * @param seed		the seed
+	 * @param samples	the number of samples per equity
+	 *
+	 * @return			the file name
+	 */
+	public static String getFileName(long seed, int samples) {
+
+		return "preflop-" + seed + "-" + samples + ".bin";
+	}
+
+
+	/**
+	 * Loads a table from its file.
+	 *
+	 * @param fileName	the name of the file
+	 * @param seed		the seed
+	 * @param samples	the number of samples per equity
+	 *
+	 * @return			the table, null if there is no valid file
+	 */
+	private static PreflopTable load(String fileName, long seed, int samples) {
+
+		File file = new File(fileName);
+		if (!file.exists() || file.length() != HEADER + 4L * (RANDOM_SIZE + HEAD_SIZE))
+			return null;
+
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			ByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getLong(8) != seed
+					|| buffer.getInt(16) != samples)
+				return null;
+			float[] random = new float[RANDOM_SIZE];
+			float[] head = new float[HEAD_SIZE];
+			buffer.position(HEADER);
+			buffer.asFloatBuffer().get(random).get(head);
+			return new PreflopTable(seed, samples, random, head);
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+
+	/**
+	 * Saves a table to a file.
+	 *
+	 * @param fileName	the name of the file
+	 * @param table		the table
+	 */
+	private static void save(String fileName, PreflopTable table) {
+
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER + 4 * (RANDOM_SIZE + HEAD_SIZE));
+
+		buffer.putInt(MAGIC).putInt(VERSION).putLong(table.seed).putInt(table.samples);
+		buffer.asFloatBuffer().put(table.random).put(table.head);
+		buffer.rewind();
+
+		try (RandomAccessFile raf = new RandomAccessFile(fileName, "rw")) {
+			raf.setLength(0);
+			raf.getChannel().write(buffer);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+
+	/**
+	 * Generates a table. The equities against random opponents are estimated by an {@code EquityCalculator} for a
+	 * representative of each class. Head-to-head, the hole cards of both classes are sampled with the board, and only
+	 * a class against the classes with higher index is sampled, as the others follow by symmetry (a class against
+	 * itself has equity 1/2).
+	 *
+	 * @param seed		the seed
+	 * @param samples	the number of samples per equity
+	 * @param threads	the number of threads
+	 *
+	 * @return			the table
+	 */
+	public static PreflopTable generate(long seed, int samples, int threads) {
+
+		float[] random = new float[RANDOM_SIZE];
+		float[] head = new float[HEAD_SIZE];
+		SplittableRandom master = new SplittableRandom(seed);
+		List<Callable<Void>> tasks = new ArrayList<>();
+
+		for (int c = 0; c < NUMBER_OF_CLASSES; c++)
+			tasks.add(new RandomTask(c, samples, master.split().nextLong(), random));
+		for (int c = 0; c < NUMBER_OF_CLASSES; c++)
+			tasks.add(new HeadTask(c, samples, master.split(), head));
+
+		ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+		try {
+			for (Future<Void> result : pool.invokeAll(tasks))
+				result.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Preflop table generation interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Preflop table generation failed.", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+
+		for (int a = 0; a < NUMBER_OF_CLASSES; a++) {
+			head[a * NUMBER_OF_CLASSES + a] = 0.5f;								// the same class by symmetry
+			for (int b = 0; b < a; b++)
+				head[a * NUMBER_OF_CLASSES + b] = 1.0f - head[b * NUMBER_OF_CLASSES + a];
+		}
+		return new PreflopTable(seed, samples, random, head);
+	}
+
+
+	/**
+	 * Returns the class of hole cards.
+	 *
+	 * @param first		the first hole card
+	 * @param second	the second hole card
+	 *
+	 * @return			the index of the class in [0, 168]
+	 */
+	public static int getClass(Card first, Card second) {
+
+		int high = Math.max(first.getRank(), second.getRank());
+		int low = Math.min(first.getRank(), second.getRank());
+
+		if (first.getSuit() == second.getSuit())
+			return high * Card.NUMBER_OF_RANKS + low;
+		return low * Card.NUMBER_OF_RANKS + high;
+	}
+
+
+	/**
+	 * Returns the class of hole cards given as card set bits.
+	 *
+	 * @param hole	the bits of the two hole cards
+	 *
+	 * @return		the index of the class in [0, 168]
+	 */
+	public static int getClass(long hole) {
+
+		int first = Long.numberOfTrailingZeros(hole);
+		int second = Long.numberOfTrailingZeros(hole & hole - 1);
+
+		return getClass(Card.of(first % CardSet.SUIT_BITS, first / CardSet.SUIT_BITS),
+				Card.of(second % CardSet.SUIT_BITS, second / CardSet.SUIT_BITS));
+	}
+
+
+	/**
+	 * Returns the name of a class, e.g., 'AKs', 'T9o', or '77'.
+	 *
+	 * @param c		the index of the class
+	 *
+	 * @return		the name
+	 */
+	public static String getName(int c) {
+
+		int row = c / Card.NUMBER_OF_RANKS;
+		int column = c % Card.NUMBER_OF_RANKS;
+
+		if (row == column)
+			return Card.RANKS[row] + Card.RANKS[column];
+		if (row > column)
+			return Card.RANKS[row] + Card.RANKS[column] + "s";
+		return Card.RANKS[column] + Card.RANKS[row] + "o";
+	}
+
+
+	/**
+	 * Returns the number of hole card combinations of a class.
+	 *
+	 * @param c		the index of the class
+	 *
+	 * @return		6 for pairs, 4 for suited, 12 for offsuit hands
+	 */
+	public static int getCombinations(int c) {
+
+		return getHoles(c).length;
+	}
+
+
+	/**
+	 * Returns the equity of hole cards against random opponents.
+	 *
+	 * @param first		the first hole card
+	 * @param second	the second hole card
+	 * @param opponents	the number of opponents (1 to {@code MAX_OPPONENTS})
+	 *
+	 * @return			the equity
+	 */
+	public float getEquity(Card first, Card second, int opponents) {
+
+		return random[getClass(first, second) * MAX_OPPONENTS + opponents - 1];
+	}
+
+
+	/**
+	 * Returns the equity of a class against random opponents.
+	 *
+	 * @param c			the index of the class
+	 * @param opponents	the number of opponents (1 to {@code MAX_OPPONENTS})
+	 *
+	 * @return			the equity
+	 */
+	public float getEquity(int c, int opponents) {
+
+		return random[c * MAX_OPPONENTS + opponents - 1];
+	}
+
+
+	/**
+	 * Returns the equity of hole cards against the hole cards of an opponent head-to-head, averaged over the
+	 * combinations of both classes.
+	 *
+	 * @param first		the first hole card
+	 * @param second	the second hole card
+	 * @param third		the first hole card of the opponent
+	 * @param fourth	the second hole card of the opponent
+	 *
+	 * @return			the equity
+	 */
+	public float getHeadToHead(Card first, Card second, Card third, Card fourth) {
+
+		return head[getClass(first, second) * NUMBER_OF_CLASSES + getClass(third, fourth)];
+	}
+
+
+	/**
+	 * Returns the equity of a class against another class head-to-head.
+	 *
+	 * @param c			the index of the class
+	 * @param other		the index of the class of the opponent
+	 *
+	 * @return			the equity
+	 */
+	public float getHeadToHead(int c, int other) {
+
+		return head[c * NUMBER_OF_CLASSES + other];
+	}
+
+
+	/**
+	 * Returns the seed of the table.
+	 *
+	 * @return	the seed
+	 */
+	public long getSeed() {
+
+		return seed;
+	}
+
+
+	/**
+	 * Returns the number of samples per equity.
+	 *
+	 * @return	the number of samples
+	 */
+	public int getSamples() {
+
+		return samples;
+	}
+
+
+	/**
+	 * The string representation of the table.
+	 *
+	 * @return	a string identifying the table
+	 */
+	public String toString() {
+
+		return "preflop" + seed + "x" + samples;
+	}
+
+
+	/**
+	 * Returns the card set bits of all hole card combinations of a class.
+	 *
+	 * @param c		the index of the class
+	 *
+	 * @return		the bits of the combinations
+	 */
+	static long[] getHoles(int c) {
+
+		int row = c / Card.NUMBER_OF_RANKS;
+		int column = c % Card.NUMBER_OF_RANKS;
+		List<Long> holes = new ArrayList<>();
+
+		for (int s = 0; s < Card.NUMBER_OF_SUITS; s++)
+			for (int t = 0; t < Card.NUMBER_OF_SUITS; t++) {
+				if (row == column ? s < t : row > column ? s == t : s != t)
+					holes.add(CardSet.getBit(row, s) | CardSet.getBit(column, t));
+			}
+		long[] bits = new long[holes.size()];
+		for (int i = 0; i < bits.length; i++)
+			bits[i] = holes.get(i);
+		return bits;
+	}
+
+
+	/**
+	 * Generates a table with default seed and number of samples, or with the seed and number of samples given, and
+	 * prints the equities against one random opponent.
+	 *
+	 * @param args	the seed and the number of samples (optional)
+	 */
+	public static void main(String[] args) {
+
+		long seed = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_SEED;
+		int samples = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_SAMPLES;
+
+		long start = System.currentTimeMillis();
+		PreflopTable table = open(seed, samples);
+		if (table == null)
+			return;
+		System.out.println(table + " opened in " + (System.currentTimeMillis() - start) + " ms");
+		for (int row = Card.ACE; row >= 0; row--) {
+			StringBuilder line = new StringBuilder();
+			for (int column = Card.ACE; column >= 0; column--)
+				line.append(String.format(" %s %.3f", getName(row * Card.NUMBER_OF_RANKS + column),
+						table.getEquity(row * Card.NUMBER_OF_RANKS + column, 1)));
+			System.out.println(line);
+		}
+	}
+
+
+	/** The estimation of the equities of a class against random opponents. */
+	private static class RandomTask implements Callable<Void> {
+
+		/** The index of the class, the number of samples, and the seed. */
+		private final int c, samples;
+		private final long seed;
+
+		/** The equities against random opponents. */
+		private final float[] random;
+
+
+		/**
+		 * Constructs a task.
+		 *
+		 * @param c			the index of the class
+		 * @param samples	the number of samples per equity
+		 * @param seed		the seed
+		 * @param random	the equities against random opponents
+		 */
+		RandomTask(int c, int samples, long seed, float[] random) {
+
+			this.c = c;
+			this.samples = samples;
+			this.seed = seed;
+			this.random = random;
+		}
+
+
+		/** Estimates the equities against 1 to {@code MAX_OPPONENTS} opponents.
+		 *
+		 * @return	nothing
+		 */
+		public Void call() {
+
+			EquityCalculator calculator = new EquityCalculator(samples, 0, 1);
+			long hole = getHoles(c)[0];											// all holes of a class are alike
+			SplittableRandom seeds = new SplittableRandom(seed);
+
+			for (int opponents = 1; opponents <= MAX_OPPONENTS; opponents++)
+				random[c * MAX_OPPONENTS + opponents - 1] =
+						(float)calculator.compute(hole, CardSet.EMPTY, opponents, seeds.nextLong()).getShare();
+			return null;
+		}
+	}
+
+
+	/** The estimation of the equities of a class head-to-head against the same and all weaker classes (by index). */
+	private static class HeadTask implements Callable<Void> {
+
+		/** The index of the class and the number of samples. */
+		private final int c, samples;
+
+		/** The random number generator of the task. */
+		private final SplittableRandom random;
+
+		/** The equities head-to-head. */
+		private final float[] head;
+
+
+		/**
+		 * Constructs a task.
+		 *
+		 * @param c			the index of the class
+		 * @param samples	the number of samples per equity
+		 * @param random	the random number generator
+		 * @param head		the equities head-to-head
+		 */
+		HeadTask(int c, int samples, SplittableRandom random, float[] head) {
+
+			this.c = c;
+			this.samples = samples;
+			this.random = random;
+			this.head = head;
+		}
+
+
+		/** Estimates the equities against the classes with higher index.
+		 *
+		 * @return	nothing
+		 */
+		public Void call() {
+
+			long[] holes = getHoles(c);
+
+			for (int other = c + 1; other < NUMBER_OF_CLASSES; other++) {
+				long[] others = getHoles(other);
+				double shares = 0.0;
+				for (int k = 0; k < samples; k++) {
+					long hole, opponent;
+					do {
+						hole = holes[random.nextInt(holes.length)];
+						opponent = others[random.nextInt(others.length)];
+					} while ((hole & opponent) != 0);								// uniform over disjoint pairs
+
+					long board = CardSet.EMPTY, known = hole | opponent;
+					for (int i = 0; i < 5; i++) {
+						long bit;
+						do
+							bit = BITS[random.nextInt(Card.NUMBER_OF_CARDS)];
+						while (((known | board) & bit) != 0);
+						board |= bit;
+					}
+					int rank = LookupEvaluator.rank(hole | board);
+					int otherRank = LookupEvaluator.rank(opponent | board);
+					shares += rank > otherRank ? 1.0 : rank == otherRank ? 0.5 : 0.0;
+				}
+				head[c * NUMBER_OF_CLASSES + other] = (float)(shares / samples);
+			}
+			return null;
+		}
+	}
+
+}
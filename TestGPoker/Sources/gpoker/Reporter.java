@@ -54,28 +54,37 @@ public class Reporter {
 	}
 
 
-	public void reportBlind(Player player, int blind) {
+	/**
+	 * Reports the blind posted by a player.
+	 *
+	 * @param dealer	the dealer of the table
+	 * @param player	the player
+	 * @param blind		the blind
+	 */
+	public void reportBlind(Dealer dealer, Player player, int blind) {
 
 		if (level < VERBOSE)
 			return;
 
-		int big = Director.getInstance().getDealer().getGameMode().getBigBlind();
+		int big = dealer.getGameMode().getBigBlind();
 		String b = blind == big ? "big" : "small";
 		System.out.println(player + " " + b + " blind: " + player.getStageBets());
 	}
 
 
-	/** Reports information on all active players whose peep flag is set. */
-	public void reportPlayerStatus() {
+	/** Reports information on all active players whose peep flag is set.
+	 *
+	 * @param dealer	the dealer of the table
+	 */
+	public void reportPlayerStatus(Dealer dealer) {
 
 		if (level < VERBOSE)
 			return;
 
-		Director director = Director.getInstance();
-		for (Player player : director.getDealer().getActivePlayers()) {
+		for (Player player : dealer.getActivePlayers()) {
 			if (player.isPeep()) {
 				System.out.println(player + "'s cards: " + player.getHand());
-				System.out.println("Chips: " + player.getChips() + ", Pot: " + director.getDealer().getPot() + '\n');
+				System.out.println("Chips: " + player.getChips() + ", Pot: " + dealer.getPot() + '\n');
 			}
 		}
 	}
@@ -95,14 +104,14 @@ public class Reporter {
 
 	/**
 	 * Reports stage information.
+	 *
+	 * @param dealer	the dealer of the table
 	 */
-	public void reportStage() {
+	public void reportStage(Dealer dealer) {
 
 		if (level < VERBOSE)
 			return;
 
-		Dealer dealer = Director.getInstance().getDealer();
-
 		if (dealer.getStage() == Dealer.PRE_FLOP) {
 			if (level == INTERACTIVE) {
 				System.out.println("<Enter> to continue...");
@@ -212,7 +221,7 @@ public class Reporter {
 
 		if (level > QUIET) {
 			System.out.println("--- " + mode + " ---");
-			for (Player player : Director.getInstance().getDealer().getPlayers())
+			for (Player player : mode.getDealer().getPlayers())
 				System.out.println(player + " has " + player.getChips() + " chips.");
 			System.out.println();
 		}
@@ -222,12 +231,12 @@ public class Reporter {
 	/**
 	 * Reports on the wins of the players after a game.
 	 *
-	 * @param meaning what the wins are
+	 * @param dealer	the dealer of the table
+	 * @param meaning 	what the wins are
 	 */
-	public void reportPostGame(String meaning) {
+	public void reportPostGame(Dealer dealer, String meaning) {
 
 		if (level > QUIET) {
-			Dealer dealer = Director.getInstance().getDealer();
 			System.out.println("--- Game Report ---");
 
 			List<Player> players = dealer.getPlayers();
@@ -238,6 +247,19 @@ public class Reporter {
 	}
 
 
+	/**
+	 * Reports the number of rounds played, if a game has stopped early.
+	 *
+	 * @param played	the rounds played
+	 * @param rounds	the rounds of a complete game
+	 */
+	public void reportRounds(int played, int rounds) {
+
+		if (level > QUIET && played < rounds)
+			System.out.println("Stopped after " + played + " of " + rounds + " rounds.");
+	}
+
+
 	/**
 	 * Reports on the wins of the players after a game.
 	 *
@@ -0,0 +1,235 @@
+package gpoker;
+
+import java.util.List;
+
+/**
+ * The seats of a table as a ring of active players. Players, active flags and positions are kept in arrays indexed
+ * by seat, and the active seats are doubly linked, so the next active player is found in constant time. The position
+ * of each active player (its distance to the button in the order of play) is computed once per hand and maintained
+ * incrementally when a player leaves the hand.
+ * <p>
+ * The seat of a player is stored in the player, hence a player must not sit at two tables concurrently.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class SeatRing {
+
+	/** Indicates a player without a seat at this table. */
+	public static final int NO_SEAT = -1;
+
+	/** The players by seat. */
+	private Player[] seats;
+
+	/** The active flags by seat. */
+	private boolean[] active;
+
+	/** The next active seat. For an inactive seat it is the next seat being active when it left. */
+	private int[] next;
+
+	/** The previous active seat, only valid for active seats. */
+	private int[] previous;
+
+	/** The positions of the active seats. */
+	private int[] positions;
+
+	/** The number of seats. */
+	private int size;
+
+	/** The number of active seats. */
+	private int count;
+
+	/** The seat of the button. */
+	private int button;
+
+
+	/** Constructs an empty ring. */
+	public SeatRing() {
+
+		allocate(10);
+		button = NO_SEAT;
+	}
+
+
+	/**
+	 * Allocates the arrays for a number of seats.
+	 *
+	 * @param capacity	the number of seats
+	 */
+	private void allocate(int capacity) {
+
+		seats = new Player[capacity];
+		active = new boolean[capacity];
+		next = new int[capacity];
+		previous = new int[capacity];
+		positions = new int[capacity];
+	}
+
+
+	/**
+	 * Seats the players for a new hand. A player is active, if it has chips. The button is not set.
+	 *
+	 * @param players	all the players at the table in seat order
+	 */
+	public void seat(List<Player> players) {
+
+		size = players.size();
+		if (size > seats.length)
+			allocate(size);
+		button = NO_SEAT;
+		count = 0;
+
+		int last = NO_SEAT;
+		int first = NO_SEAT;
+		for (int i = 0; i < size; i++) {
+			Player player = players.get(i);
+			seats[i] = player;
+			player.setSeat(i);
+			active[i] = player.hasChips();
+			if (active[i]) {
+				++count;
+				if (first == NO_SEAT)
+					first = i;
+				else {
+					next[last] = i;
+					previous[i] = last;
+				}
+				last = i;
+			}
+		}
+		if (first != NO_SEAT) {									// close the ring
+			next[last] = first;
+			previous[first] = last;
+		}
+		for (int i = 0; i < size; i++) {						// link inactive seats to the next active one
+			if (!active[i])
+				next[i] = nextActive(i);
+		}
+	}
+
+
+	/**
+	 * Returns the first active seat after a seat by scanning the seats. Only used while seating.
+	 *
+	 * @param seat	a seat, may be NO_SEAT
+	 *
+	 * @return		the next active seat, NO_SEAT if none
+	 */
+	private int nextActive(int seat) {
+
+		for (int i = 1; i <= size; i++) {
+			int s = (seat + i + size) % size;
+			if (active[s])
+				return s;
+		}
+		return NO_SEAT;
+	}
+
+
+	/**
+	 * Returns the seat of a player at this table.
+	 *
+	 * @param player	a player, may be null
+	 *
+	 * @return			the seat, NO_SEAT if the player does not sit here
+	 */
+	public int getSeat(Player player) {
+
+		if (player == null)
+			return NO_SEAT;
+		int seat = player.getSeat();
+
+		if (seat >= 0 && seat < size && seats[seat] == player)
+			return seat;
+		return NO_SEAT;
+	}
+
+
+	/**
+	 * Sets the button and computes the positions of the active players.
+	 *
+	 * @param player	the player with the button
+	 */
+	public void setButton(Player player) {
+
+		button = getSeat(player);
+		if (button == NO_SEAT)
+			return;
+
+		int seat = active[button] ? button : next[button];
+		int pos = active[button] ? 0 : 1;
+		for (int i = 0; i < count; i++) {
+			positions[seat] = pos++;
+			seat = next[seat];
+		}
+	}
+
+
+	/**
+	 * Returns the next active player after a player. The player need not be active or even sit at the table, in the
+	 * latter case the first active player is returned.
+	 *
+	 * @param player	a player, may be null
+	 *
+	 * @return			the next active player
+	 */
+	public Player getNext(Player player) {
+
+		int seat = getSeat(player);
+
+		if (seat == NO_SEAT)
+			return seats[nextActive(NO_SEAT)];
+		if (active[seat])
+			return seats[next[seat]];
+
+		int s = next[seat];
+		while (!active[s])
+			s = next[s];
+		next[seat] = s;											// shortcut for the next call
+		return seats[s];
+	}
+
+
+	/**
+	 * Removes a player from the ring of active players. The positions of the players behind it are decreased.
+	 *
+	 * @param player	an active player
+	 */
+	public void deactivate(Player player) {
+
+		int seat = getSeat(player);
+
+		if (seat == NO_SEAT || !active[seat])
+			return;
+		active[seat] = false;
+		--count;
+		next[previous[seat]] = next[seat];
+		previous[next[seat]] = previous[seat];
+
+		if (button == NO_SEAT || seat == button)
+			return;
+		int pos = positions[seat];
+		for (int s = next[seat]; active[s] && positions[s] > pos; s = next[s])
+			--positions[s];
+	}
+
+
+	/**
+	 * Returns the position of a player. The button position is 0, small blind is 1, big blind is 2, etc.
+	 *
+	 * @param player	a player
+	 *
+	 * @return			the position, -1 if the player is not active
+	 */
+	public int getPosition(Player player) {
+
+		int seat = getSeat(player);
+
+		if (seat == NO_SEAT)
+			return -1;
+		if (seat == button)
+			return 0;
+		return active[seat] ? positions[seat] : -1;
+	}
+
+}
@@ -0,0 +1,82 @@
+package gpoker;
+
+import gpoker.modes.GameMode;
+
+import java.util.Random;
+
+/**
+ * The context of a poker table holding the dealer, the game mode, the reporter and the random number generator of the
+ * table. It is handed to the players at the table, so everything playing at a table finds its table without asking
+ * the director. Hence, many tables may be played concurrently, as long as no player sits at two of them.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class TableContext {
+
+	/** The dealer of the table. */
+	private final Dealer dealer;
+
+	/** The reporter of the table. */
+	private final Reporter reporter;
+
+	/** The random number generator of the table. */
+	private final Random random;
+
+
+	/**
+	 * Constructs the context of a table.
+	 *
+	 * @param dealer	the dealer
+	 * @param reporter	the reporter, which may be shared by tables
+	 * @param random	the random number generator (usually a stream split off the master stream of the director),
+	 * 					which must not be shared by tables played concurrently
+	 */
+	public TableContext(Dealer dealer, Reporter reporter, Random random) {
+
+		this.dealer = dealer;
+		this.reporter = reporter;
+		this.random = random;
+	}
+
+
+	/** Returns the dealer.
+	 *
+	 * @return	the dealer
+	 */
+	public Dealer getDealer() {
+
+		return dealer;
+	}
+
+
+	/** Returns the game mode of the dealer.
+	 *
+	 * @return	the game mode
+	 */
+	public GameMode getGameMode() {
+
+		return dealer.getGameMode();
+	}
+
+
+	/** Returns the reporter.
+	 *
+	 * @return	the reporter
+	 */
+	public Reporter getReporter() {
+
+		return reporter;
+	}
+
+
+	/** Returns the random number generator.
+	 *
+	 * @return	the generator
+	 */
+	public Random getRandom() {
+
+		return random;
+	}
+
+}
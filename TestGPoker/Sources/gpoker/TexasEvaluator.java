@@ -807,7 +807,7 @@ public class TexasEvaluator extends Evaluator {
 			case Hand.STRAIGHT_FLUSH:
 				return getStraightFlushPivot(cards1);
 			default:
-				return new Card(Card.BLANK, Card.BLANK);							// should not happen
+				return Card.BLANK_CARD;							// should not happen
 		}
 	}
 
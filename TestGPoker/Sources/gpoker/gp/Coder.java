@@ -2,6 +2,7 @@ package gpoker.gp;
 
 import evSOLve.JEvolution.gp.ProgramNode;
 import evSOLve.JEvolution.gp.Tree;
+import evSOLve.JEvolution.gp.nodes.VarDouble;
 import evSOLve.JEvolution.misc.TreeIterator;
 import gpoker.Player;
 import gpoker.misc.Xml;
@@ -69,18 +70,69 @@ public class Coder {
 	 */
 	public static void createCulture(String fileName, Collection<Player> culture) {
 
+		createCulture(fileName, culture, null);
+	}
+
+
+	/** Adds all masters of a culture file into the given culture container. With a grid the masters play by policy
+	 * tables saved beside the culture file, e.g. "culture.xml.3.policy" for the master with index 3. The tree of a
+	 * master is only parsed, if its table is not up to date.
+	 *
+	 * @param fileName	an XML culture file
+	 * @param culture	a container for the masters
+	 * @param grid		the number of grid points per feature, null if the masters play by their trees
+	 */
+	public static void createCulture(String fileName, Collection<Player> culture, int[] grid) {
+
 		if (fileName != null) {
 			Document doc = Xml.buildDocument(fileName);
 			Element root = doc.getRootElement();
+			int index = 0;
 			for (Element e : root.getChildren("GPlayer")) {
-				Element t = e.getChild("Tree");
-				CodePlayer p = new CodePlayer(new Tree(t));
+				CodePlayer p = null;
+				if (grid != null) {
+					String policyFile = fileName + "." + index + ".policy";
+					PolicyTable table = PolicyTable.load(policyFile, fileName, grid);
+					if (table == null)
+						table = PolicyTable.create(policyFile, fileName, grid, new Tree(e.getChild("Tree")));
+					if (table != null)
+						p = new CodePlayer(table);
+				}
+				if (p == null)
+					p = new CodePlayer(new Tree(e.getChild("Tree")));
 				p.setName("M" + (int)Xml.getProperty(e, "Age", 0.0));
 				culture.add(p);
+				++index;
 			}
 		}
 	}
 
+	/** Settles pending mutations of the variable nodes of a program. A mutated variable node draws its new variable
+	 * index, when it is evaluated next, which would consume random numbers in the middle of a game. Evaluating all
+	 * variable nodes once draws these numbers at a defined point of the evolution.
+	 *
+	 * @param program		a program tree
+	 * @param variables		the number of variables
+	 */
+	public static void settleVariables(Tree program, int variables) {
+
+		synchronized (ProgramNode.class) {									// variable values are static
+			for (int i = 0; i < variables; i++)
+				ProgramNode.addValue(0.0);
+			try {
+				TreeIterator tit = program.iterator();
+				while (tit.hasNext()) {
+					Object node = tit.next();
+					if (node instanceof VarDouble)
+						((VarDouble)node).eval();
+				}
+			} finally {
+				ProgramNode.clearValues();
+			}
+		}
+	}
+
+
 	public static void main(String[] args) {
 
 		Tree player = createProgram("testPlayer.xml");
@@ -3,7 +3,6 @@ package gpoker.gp;
 import evSOLve.JEvolution.gp.ProgramNode;
 import evSOLve.JEvolution.misc.Utilities;
 import evSOLve.JEvolution.misc.Xml;
-import gpoker.Director;
 import gpoker.Move;
 import org.jdom2.Element;
 
@@ -75,7 +74,7 @@ public class ConstMove extends ProgramNode {
 	public Object eval() {
 
 		if (move.getType() == Move.RAISE)
-			move.setBet(((int)(potFactor * Director.getInstance().getDealer().getPot())));		// not too pretty
+			move.setPotFactor(potFactor);								// the player computes the bet
 		return move;
 	}
 
@@ -88,7 +87,7 @@ public class ConstMove extends ProgramNode {
 		int type = Utilities.nextIntegerInRange(Move.FOLD, Move.RAISE);
 		move.setType(type);
 		potFactor = Utilities.nextRealInRange(0.0, 2.0);				// 0-2 pot size
-		mutFactor = Math.random();
+		mutFactor = Utilities.nextReal();
 	}
 
 	
@@ -98,7 +97,7 @@ public class ConstMove extends ProgramNode {
 	 */
 	public void mutate() {
 
-		if (mutFactor < Math.random()) {
+		if (mutFactor < Utilities.nextReal()) {
 			int type = Utilities.nextIntegerInRange(Move.FOLD, Move.RAISE);		// mutation of move type
 			move.setType(type);
 		}
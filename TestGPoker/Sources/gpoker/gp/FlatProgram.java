@@ -0,0 +1,476 @@
+package gpoker.gp;
+
+import evSOLve.JEvolution.gp.NullNode;
+import evSOLve.JEvolution.gp.ProgramNode;
+import evSOLve.JEvolution.gp.Tree;
+import evSOLve.JEvolution.gp.nodes.AddDouble;
+import evSOLve.JEvolution.gp.nodes.AndBoolean;
+import evSOLve.JEvolution.gp.nodes.ConstBoolean;
+import evSOLve.JEvolution.gp.nodes.ConstDouble;
+import evSOLve.JEvolution.gp.nodes.DivDouble;
+import evSOLve.JEvolution.gp.nodes.LessEqualBoolean;
+import evSOLve.JEvolution.gp.nodes.MultDouble;
+import evSOLve.JEvolution.gp.nodes.NotBoolean;
+import evSOLve.JEvolution.gp.nodes.OrBoolean;
+import evSOLve.JEvolution.gp.nodes.SubDouble;
+import evSOLve.JEvolution.gp.nodes.VarDouble;
+import gpoker.Move;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A program tree flattened into postfix code, which is executed by a loop over an operand stack of primitive
+ * doubles. The top of the stack is kept in a local variable, the rest of the stack lives in the registers following
+ * the pot factor (the first of them holding a dummy below the bottom). Booleans are 0.0 (false) and 1.0 (true).
+ * An {@code IfMove} is a conditional jump, so the path not taken is never evaluated, and a move ends the program.
+ * A subexpression occurring more than once is stored in a temporary register following the stack, and loaded where
+ * it occurs again on the same path.
+ * <p>
+ * Flattening is much cheaper than compiling to method handles, hence it is used for programs played only for a
+ * single fitness evaluation. Like the compiled program it gives the same results as {@code root.eval()}.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class FlatProgram implements Program {
+
+	/** The operation codes. Some of them are followed by an operand in the code. */
+	private static final int CONST = 0;			// operand: constant index
+	private static final int VAR = 1;			// operand: variable index
+	private static final int ADD = 2;
+	private static final int SUB = 3;
+	private static final int MULT = 4;
+	private static final int DIV = 5;
+	private static final int LESS_EQUAL = 6;
+	private static final int AND = 7;
+	private static final int OR = 8;
+	private static final int NOT = 9;
+	private static final int JUMP_FALSE = 10;	// operand: jump target
+	private static final int MOVE = 11;			// operand: move type
+	private static final int RAISE = 12;
+	private static final int STORE = 13;		// operand: temporary index
+	private static final int LOAD = 14;			// operand: temporary index
+
+	/** The boolean values on the stack. */
+	private static final double FALSE = 0.0;
+	private static final double TRUE = 1.0;
+
+	/** The code. */
+	private int[] code;
+
+	/** The constants. */
+	private double[] constants;
+
+	/** The register of the pot factor. */
+	private final int potFactor;
+
+	/** The number of registers including the stack and the temporaries. */
+	private int registers;
+
+	/** The register of the first temporary. */
+	private int temporaryBase;
+
+	/** The length of the code while flattening. */
+	private int length;
+
+	/** The number of constants while flattening. */
+	private int constantCount;
+
+	/** The stack depth while flattening. */
+	private int depth;
+
+	/** The number of temporaries while flattening. */
+	private int temporaries;
+
+	/** The structural keys of the nodes. */
+	private final Simplifier keys = new Simplifier();
+
+	/** The number of occurrences of the subexpressions by key. */
+	private final Map<String, Integer> occurrences = new HashMap<>();
+
+	/** The temporaries of the subexpressions available on the current path by key. */
+	private Map<String, Integer> available = new HashMap<>();
+
+
+	/**
+	 * Constructs an empty program.
+	 *
+	 * @param variables		the number of variables
+	 */
+	private FlatProgram(int variables) {
+
+		potFactor = variables;
+		registers = variables + 1;
+		code = new int[64];
+		constants = new double[16];
+	}
+
+
+	/**
+	 * Flattens a program tree. Pending mutations of variable nodes have to be settled before.
+	 *
+	 * @param tree			a program tree
+	 * @param variables		the number of variables
+	 *
+	 * @return				the flat program, null if the tree is null or has nodes not known
+	 */
+	public static Program flatten(Tree tree, int variables) {
+
+		if (tree == null)
+			return null;
+
+		FlatProgram program = new FlatProgram(variables);
+		synchronized (ProgramNode.class) {									// variable values are static
+			for (int i = 0; i < variables; i++)
+				ProgramNode.addValue((double)i);								// a variable node returns its index
+			try {
+				program.count((ProgramNode)tree.getRoot());
+				program.flattenMove((ProgramNode)tree.getRoot());
+			} catch (IllegalArgumentException e) {
+				return null;													// unknown node
+			} finally {
+				ProgramNode.clearValues();
+			}
+		}
+		program.temporaryBase = program.registers;							// after the deepest stack
+		program.registers += program.temporaries;
+		program.code = Arrays.copyOf(program.code, program.length);
+		program.constants = Arrays.copyOf(program.constants, program.constantCount);
+		return program;
+	}
+
+
+	public int getRegisters() {
+
+		return registers;
+	}
+
+
+	/**
+	 * Executes the code.
+	 *
+	 * @param registers		the variable values followed by a register for the pot factor, the stack, and the temporaries
+	 *
+	 * @return				the move type
+	 */
+	public int eval(double[] registers) {
+
+		int[] code = this.code;
+		double[] constants = this.constants;
+		int sp = potFactor + 1;											// the next free stack register
+		double top = 0.0;												// the top of the stack is kept here
+		int pc = 0;
+
+		while (true) {
+			switch (code[pc++]) {
+				case CONST:
+					registers[sp++] = top;
+					top = constants[code[pc++]];
+					break;
+				case VAR:
+					registers[sp++] = top;
+					top = registers[code[pc++]];
+					break;
+				case ADD:
+					top = registers[--sp] + top;
+					break;
+				case SUB:
+					top = registers[--sp] - top;
+					break;
+				case MULT:
+					top = registers[--sp] * top;
+					break;
+				case DIV:
+					top = registers[--sp] / top;
+					break;
+				case LESS_EQUAL:
+					top = registers[--sp] <= top ? TRUE : FALSE;
+					break;
+				case AND:
+					top = registers[--sp] != FALSE && top != FALSE ? TRUE : FALSE;
+					break;
+				case OR:
+					top = registers[--sp] != FALSE || top != FALSE ? TRUE : FALSE;
+					break;
+				case NOT:
+					top = top == FALSE ? TRUE : FALSE;
+					break;
+				case JUMP_FALSE:
+					pc = top == FALSE ? code[pc] : pc + 1;
+					top = registers[--sp];
+					break;
+				case MOVE:
+					return code[pc];
+				case RAISE:
+					registers[potFactor] = top;
+					return Move.RAISE;
+				case STORE:
+					registers[temporaryBase + code[pc++]] = top;
+					break;
+				case LOAD:
+					registers[sp++] = top;
+					top = registers[temporaryBase + code[pc++]];
+					break;
+				default:
+					throw new IllegalStateException("Illegal operation " + code[pc - 1] + ".");
+			}
+		}
+	}
+
+
+	/**
+	 * Flattens a move node.
+	 *
+	 * @param node	a move node
+	 */
+	private void flattenMove(ProgramNode node) {
+
+		if (node instanceof NullNode)
+			emit(MOVE, Move.FOLD);												// as with a missing consequence
+		else if (node instanceof IfMove) {
+			flattenBoolean(child(node, 0));
+			emit(JUMP_FALSE, 0);
+			int jump = length - 1;
+			pop(1);
+			Map<String, Integer> condition = new HashMap<>(available);			// computed on both paths
+			flattenMove(child(node, 1));										// ends with a move
+			code[jump] = length;
+			available = condition;
+			flattenMove(child(node, 2));
+		} else if (node instanceof RaiseMove) {
+			flattenDouble(child(node, 0), 0.0);
+			emit(RAISE);
+			pop(1);
+		} else if (node instanceof CallCheckMove || node instanceof ConstMove) {
+			Move move = (Move)node.eval();
+			if (move.getType() == Move.RAISE) {
+				pushConstant(move.getPotFactor());
+				emit(RAISE);
+				pop(1);
+			} else
+				emit(MOVE, move.getType());
+		} else
+			throw new IllegalArgumentException(node.getSignature());
+	}
+
+
+	/**
+	 * Flattens a boolean node.
+	 *
+	 * @param node	a boolean node
+	 */
+	private void flattenBoolean(ProgramNode node) {
+
+		if (node instanceof NullNode)
+			pushConstant(FALSE);
+		else if (node instanceof ConstBoolean)
+			pushConstant((Boolean)node.eval() ? TRUE : FALSE);
+		else if (!load(node)) {
+			if (node instanceof LessEqualBoolean) {
+				flattenDouble(child(node, 0), 0.0);
+				flattenDouble(child(node, 1), 0.0);
+				emit(LESS_EQUAL);
+				pop(1);
+			} else if (node instanceof AndBoolean || node instanceof OrBoolean) {
+				flattenBoolean(child(node, 0));
+				flattenBoolean(child(node, 1));
+				emit(node instanceof AndBoolean ? AND : OR);
+				pop(1);
+			} else if (node instanceof NotBoolean) {
+				flattenBoolean(child(node, 0));
+				emit(NOT);
+			} else
+				throw new IllegalArgumentException(node.getSignature());
+			store(node);
+		}
+	}
+
+
+	/**
+	 * Flattens a double node.
+	 *
+	 * @param node			a double node
+	 * @param nullValue		the value of a null node assumed by the parent
+	 */
+	private void flattenDouble(ProgramNode node, double nullValue) {
+
+		if (node instanceof NullNode)
+			pushConstant(nullValue);
+		else if (node instanceof ConstDouble)
+			pushConstant((Double)node.eval());
+		else if (node instanceof VarDouble) {
+			emit(VAR, (int)(double)(Double)node.eval());						// the value is the index
+			push();
+		} else if (!load(node)) {
+			if (node instanceof AddDouble || node instanceof SubDouble) {
+				flattenDouble(child(node, 0), 0.0);
+				flattenDouble(child(node, 1), 0.0);
+				emit(node instanceof AddDouble ? ADD : SUB);
+				pop(1);
+			} else if (node instanceof MultDouble || node instanceof DivDouble) {
+				flattenDouble(child(node, 0), 1.0);
+				flattenDouble(child(node, 1), 1.0);
+				emit(node instanceof MultDouble ? MULT : DIV);
+				pop(1);
+			} else
+				throw new IllegalArgumentException(node.getSignature());
+			store(node);
+		}
+	}
+
+
+	/**
+	 * Counts the occurrences of the subexpressions of a tree. The subexpressions of a repeated one are not counted
+	 * again, as they will not be computed again.
+	 *
+	 * @param node	the root of the tree
+	 */
+	private void count(ProgramNode node) {
+
+		String key = keys.getKey(node);
+		Integer n = occurrences.get(key);
+
+		occurrences.put(key, n == null ? 1 : n + 1);
+		if (n == null) {
+			for (int i = 0, m = node.getChildCount(); i < m; i++)
+				count(child(node, i));
+		}
+	}
+
+
+	/**
+	 * Appends code loading a subexpression, if it has already been computed on the current path.
+	 *
+	 * @param node	a subexpression
+	 *
+	 * @return		true, if loaded
+	 */
+	private boolean load(ProgramNode node) {
+
+		Integer temporary = available.get(keys.getKey(node));
+
+		if (temporary == null)
+			return false;
+		emit(LOAD, temporary);
+		push();
+		return true;
+	}
+
+
+	/**
+	 * Appends code storing a subexpression just computed, if it occurs again.
+	 *
+	 * @param node	a subexpression
+	 */
+	private void store(ProgramNode node) {
+
+		String key = keys.getKey(node);
+
+		if (occurrences.get(key) > 1) {
+			emit(STORE, temporaries);
+			available.put(key, temporaries++);
+		}
+	}
+
+
+	/**
+	 * Appends code pushing a constant.
+	 *
+	 * @param value		the constant
+	 */
+	private void pushConstant(double value) {
+
+		if (constantCount == constants.length)
+			constants = Arrays.copyOf(constants, 2 * constantCount);
+		constants[constantCount] = value;
+		emit(CONST, constantCount++);
+		push();
+	}
+
+
+	/**
+	 * Appends an operation without operand.
+	 *
+	 * @param operation		the operation code
+	 */
+	private void emit(int operation) {
+
+		if (length == code.length)
+			code = Arrays.copyOf(code, 2 * length);
+		code[length++] = operation;
+	}
+
+
+	/**
+	 * Appends an operation with an operand.
+	 *
+	 * @param operation		the operation code
+	 * @param operand		the operand
+	 */
+	private void emit(int operation, int operand) {
+
+		emit(operation);
+		emit(operand);
+	}
+
+
+	/** Accounts for a value pushed on the stack. */
+	private void push() {
+
+		++depth;
+		registers = Math.max(registers, potFactor + 1 + depth);			// including the dummy, excluding the top
+	}
+
+
+	/**
+	 * Accounts for values popped from the stack.
+	 *
+	 * @param count		the number of values
+	 */
+	private void pop(int count) {
+
+		depth -= count;
+	}
+
+
+	/**
+	 * Returns a child of a node.
+	 *
+	 * @param node		a node
+	 * @param index		the index of the child
+	 *
+	 * @return			the child
+	 */
+	private static ProgramNode child(ProgramNode node, int index) {
+
+		return (ProgramNode)node.getChildAt(index);
+	}
+
+
+	/**
+	 * Returns the code in a readable form.
+	 *
+	 * @return	one operation per line
+	 */
+	public String toString() {
+
+		String[] names = {"const", "var", "add", "sub", "mult", "div", "le", "and", "or", "not", "jf", "move", "raise",
+				"store", "load"};
+		String s = "";
+
+		for (int pc = 0; pc < code.length; pc++) {
+			int operation = code[pc];
+			s += pc + ": " + names[operation];
+			if (operation == CONST)
+				s += " " + constants[code[++pc]];
+			else if (operation == VAR || operation == JUMP_FALSE || operation == MOVE
+					|| operation == STORE || operation == LOAD)
+				s += " " + code[++pc];
+			s += '\n';
+		}
+		return s;
+	}
+
+}
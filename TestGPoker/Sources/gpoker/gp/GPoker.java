@@ -5,9 +5,16 @@ import evSOLve.JEvolution.JEvolutionException;
 import evSOLve.JEvolution.JEvolutionReporter;
 import evSOLve.JEvolution.gp.TreeChromosome;
 import evSOLve.JEvolution.gp.nodes.*;
+import evSOLve.JEvolution.misc.Utilities;
+import gpoker.Director;
+import gpoker.HandStrength;
+import gpoker.gp.fitness.Fingerprint;
+import gpoker.gp.fitness.FitnessCache;
 import gpoker.gp.fitness.FitnessEvaluator;
 import gpoker.misc.TruncationSelection;
 import gpoker.misc.Xml;
+import gpoker.modes.Doyle;
+import gpoker.modes.GameMode;
 import gpoker.players.GPlayer;
 import org.jdom2.Element;
 
@@ -27,6 +34,12 @@ public class GPoker {
 	 */
 	public static void evolve(GPlayer player, Element evolution) {
 
+		String seed = Xml.getProperty(evolution, "seed", null);
+		if (seed != null)
+			Utilities.setRandomSeed(Long.parseLong(seed));								// reproducible evolution
+		if (seed != null && !Director.getInstance().isSeeded())
+			Director.getInstance().setSeed(Long.parseLong(seed));						// reproducible games
+
 		// instantiate all evolution related objects
 		JEvolution GP = JEvolution.getInstance();											// + call it a GP
 // 		GP.setMaximization(false);															// o minimization problem
@@ -63,7 +76,19 @@ public class GPoker {
 			//GP.setSelection(new TruncationSelection(0.3));
 
 			GP.addChromosome(chrom);							// + tell GP about your chromosome
-			player.setFitnessEvaluator(FitnessEvaluator.create(Xml.getChildOf(evolution, "FitnessEvaluator")));
+			FitnessEvaluator fe = FitnessEvaluator.create(Xml.getChildOf(evolution, "FitnessEvaluator"));
+			fe.setThreads(Xml.getProperty(evolution, "threads", 1));
+			fe.setSeeded(seed != null || Director.getInstance().isSeeded());
+			fe.setCorpusShift(Xml.getProperty(evolution, "corpusShift", 0));
+			fe.setCache(FitnessCache.create(Xml.getProperty(evolution, "fitnessCache", 0)));
+			int probes = Xml.getProperty(evolution, "fingerprint", 0);
+			if (fe.getCache() != null && probes > 0) {
+				GameMode game = Director.getInstance().getDealer().getGameMode();
+				int players = Director.getInstance().getDealer().getPlayers().size();
+				fe.getCache().setFingerprint(new Fingerprint(probes, Math.max(2, players), game.getChipsPerPlayer(),
+						game.getBigBlind()));
+			}
+			player.setFitnessEvaluator(fe);
 			GP.setPhenotype(player);							// + tell GP about your Phenotype class
 //			GP.setSelection(new TruncationSelection(0.0));
 //			GP.setPopulationSize(2000, 5000);
@@ -84,7 +109,18 @@ public class GPoker {
 //			;
 
 		// start evolution
-		GP.doEvolve();															// + evolution run
+		try {
+			GP.doEvolve();														// + evolution run
+		} finally {
+			player.getFitnessEvaluator().shutdown();
+		}
+		GPlayer.reportSimplification();											// of the last generation
+		if (player.getFitnessEvaluator().getCache() != null)
+			System.out.println(player.getFitnessEvaluator().getCache());
+		if (Doyle.getRacingStatistics() != null)
+			System.out.println(Doyle.getRacingStatistics());
+		if (HandStrength.isEnabled())
+			System.out.println(HandStrength.getStatistics());
 
 
 		GPlayer best = (GPlayer)GPReporter.getBestIndividual().getPhenotype();
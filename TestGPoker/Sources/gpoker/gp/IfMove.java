@@ -18,6 +18,9 @@ public class IfMove extends ProgramNode {
 	/** The TYPE_MOVE identifier. */
 	public static final int TYPE_MOVE = 666;
 
+	/** The move of a missing consequence. It is shared, as players copy the moves of their programs. */
+	private static final Move FOLD = new Move(Move.FOLD);
+
 
 	/** Constructs the function with three operands. */
 	public IfMove() {
@@ -77,7 +80,7 @@ public class IfMove extends ProgramNode {
 		boolean a = ante != null && (boolean)ante;
 		cons = a ? children[1].eval() : children[2].eval();			// true or false path
 
-		return cons == null ? new Move(Move.FOLD) : cons;
+		return cons == null ? FOLD : cons;
 	}
 
 
@@ -0,0 +1,427 @@
+package gpoker.gp;
+
+import evSOLve.JEvolution.gp.ProgramNode;
+import evSOLve.JEvolution.gp.Tree;
+import evSOLve.JEvolution.gp.nodes.VarDouble;
+import evSOLve.JEvolution.misc.TreeIterator;
+import gpoker.Move;
+import gpoker.players.CodePlayer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The policy of a fixed program tabulated on a grid of the input features. Each feature has a number of grid points
+ * evenly spaced in its range, and a feature value is mapped to the nearest grid point. The table holds the move type
+ * (a byte) and the pot factor of a RAISE (a float) for each grid cell, so the evaluation is an index computation and
+ * two reads. Features not used by the program have a single grid point, hence the table only grows with the features
+ * actually used.
+ * <p>
+ * The table is saved in a binary file, which is memory-mapped when loaded, so many players may be set up without
+ * parsing their program trees. The default ranges match the features of the {@code CodePlayer}, where the grid points
+ * of the discrete features (ranks, hand values, stage, position) hit their values exactly with the default grid. The
+ * position is exact at tables of up to {@code DEFAULT_POSITIONS} players, further positions share the last point.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class PolicyTable implements Program {
+
+	/** The default number of grid points of the position, i.e., the players of a full table. */
+	public static final int DEFAULT_POSITIONS = 10;
+
+	/** The default number of grid points per feature. */
+	public static final int[] DEFAULT_GRID = {13, 13, 10, 9, 9, 4, DEFAULT_POSITIONS, 10, 13, 9};
+
+	/** The default number of grid points of hand strength and potentials, if enabled. */
+	public static final int[] STRENGTH_GRID = {11, 6, 6};
+
+	/** The maximal number of grid cells. */
+	public static final int MAX_CELLS = 1 << 24;
+
+	/** The lower bounds of the features. */
+	private static final double[] LOW = {0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0, 0.0};
+
+	/** The upper bounds of the features. The upper bound of the position is the number of its grid points - 1. */
+	private static final double[] HIGH = {1.0, 1.0, 1.0, 1.0, 0.5, 1.0, Double.NaN, 1.0, 1.0, 2.0, 1.0, 1.0, 1.0};
+
+	/** The index of the position feature. */
+	private static final int POSITION = 6;
+
+	/** The magic number and version of the file format. */
+	private static final int MAGIC = 0x47504F4C;
+	private static final int VERSION = 1;
+
+	/** The number of grid points per feature. */
+	private final int[] points;
+
+	/** The lower bounds of the features. */
+	private final double[] low;
+
+	/** The scales mapping a feature to the index of its grid point. */
+	private final double[] scale;
+
+	/** The strides of the features in the table. */
+	private final int[] stride;
+
+	/** The number of cells. */
+	private final int cells;
+
+	/** The table with a header, the move types, and the pot factors. */
+	private final ByteBuffer table;
+
+	/** The offset of the move types. */
+	private final int types;
+
+	/** The offset of the pot factors. */
+	private final int factors;
+
+
+	/**
+	 * Constructs a table.
+	 *
+	 * @param points	the number of grid points per feature
+	 * @param table		the table including the header
+	 */
+	private PolicyTable(int[] points, ByteBuffer table) {
+
+		this.points = points;
+		this.table = table;
+		low = new double[points.length];
+		scale = new double[points.length];
+		stride = new int[points.length];
+		int size = 1;
+		for (int i = points.length - 1; i >= 0; i--) {
+			stride[i] = size;
+			size *= points[i];
+			low[i] = LOW[i];
+			double high = i == POSITION ? points[i] - 1 : HIGH[i];
+			scale[i] = points[i] == 1 ? 0.0 : (points[i] - 1) / (high - low[i]);
+		}
+		cells = size;
+		types = getHeaderSize(points.length);
+		factors = types + (cells + 3) / 4 * 4;
+	}
+
+
+	/**
+	 * Returns the number of grid points per feature parsed from a string.
+	 *
+	 * @param grid	the numbers of grid points separated by blanks, or "true" for the default grid
+	 *
+	 * @return		the grid, null if the string is null or malformed
+	 */
+	public static int[] parseGrid(String grid) {
+
+		if (grid == null)
+			return null;
+		int features = CodePlayer.getNumberOfFeatures();
+		if (grid.trim().equals("true")) {
+			int[] points = Arrays.copyOf(DEFAULT_GRID, features);
+			for (int i = DEFAULT_GRID.length; i < features; i++)
+				points[i] = STRENGTH_GRID[i - DEFAULT_GRID.length];
+			return points;
+		}
+
+		String[] tokens = grid.trim().split("\\s+");
+		if (tokens.length != features) {
+			System.out.println("Policy table needs " + features + " grid sizes, but got '" + grid + "'.");
+			return null;
+		}
+		int[] points = new int[tokens.length];
+		try {
+			for (int i = 0; i < tokens.length; i++)
+				points[i] = Math.max(1, Integer.parseInt(tokens[i]));
+		} catch (NumberFormatException e) {
+			System.out.println("Illegal policy grid '" + grid + "'.");
+			return null;
+		}
+		return points;
+	}
+
+
+	/**
+	 * Tabulates a program tree on a grid. Features not used by the program get a single grid point.
+	 *
+	 * @param tree		a program tree
+	 * @param grid		the number of grid points per feature
+	 *
+	 * @return			the table, null if the tree cannot be translated or the table would be too large
+	 */
+	public static PolicyTable tabulate(Tree tree, int[] grid) {
+
+		Tree simplified = Simplifier.simplify(tree, grid.length);
+		Program code = FlatProgram.flatten(simplified, grid.length);
+		if (code == null)
+			return null;
+
+		int[] points = new int[grid.length];
+		long size = 1;
+		for (int variable : getVariables(simplified, grid.length)) {
+			points[variable] = grid[variable];
+			size *= grid[variable];
+		}
+		for (int i = 0; i < points.length; i++)
+			points[i] = Math.max(1, points[i]);
+		if (size > MAX_CELLS) {
+			System.out.println("Policy table with " + size + " cells too large.");
+			return null;
+		}
+
+		int header = getHeaderSize(points.length);
+		ByteBuffer buffer = ByteBuffer.allocate(header + ((int)size + 3) / 4 * 4 + 4 * (int)size);
+		PolicyTable table = new PolicyTable(points, buffer);
+		table.writeHeader();
+
+		double[] registers = new double[Math.max(code.getRegisters(), points.length + 1)];
+		int[] index = new int[points.length];
+		for (int i = 0; i < points.length; i++)
+			registers[i] = table.getPoint(i, 0);
+		for (int cell = 0; cell < table.cells; cell++) {
+			int type = code.eval(registers);
+			buffer.put(table.types + cell, (byte)type);
+			buffer.putFloat(table.factors + 4 * cell, type == Move.RAISE ? (float)registers[points.length] : 0.0f);
+			for (int i = points.length - 1; i >= 0; i--) {					// next cell in the order of the index
+				if (++index[i] < points[i]) {
+					registers[i] = table.getPoint(i, index[i]);
+					break;
+				}
+				index[i] = 0;
+				registers[i] = table.getPoint(i, 0);
+			}
+		}
+		return table;
+	}
+
+
+	/**
+	 * Returns the table of a program. A valid table file is loaded, otherwise the program is tabulated and saved.
+	 *
+	 * @param fileName		the name of the table file
+	 * @param xmlFileName	the name of the XML file with the program
+	 * @param grid			the number of grid points per feature
+	 * @param tree			the program tree, null if not parsed yet
+	 *
+	 * @return				the table, null if there is no valid table and the tree is null or cannot be tabulated
+	 */
+	public static PolicyTable create(String fileName, String xmlFileName, int[] grid, Tree tree) {
+
+		PolicyTable table = load(fileName, xmlFileName, grid);
+
+		if (table == null && tree != null) {
+			table = tabulate(tree, grid);
+			if (table != null)
+				table.save(fileName, grid);
+		}
+		return table;
+	}
+
+
+	/**
+	 * Loads a table by memory-mapping its file. The table is only loaded, if it is not older than the XML file of the
+	 * program, if it has been tabulated on the same grid, and if the file is complete.
+	 *
+	 * @param fileName		the name of the table file
+	 * @param xmlFileName	the name of the XML file with the program
+	 * @param grid			the number of grid points per feature
+	 *
+	 * @return				the table, null if there is no valid table
+	 */
+	public static PolicyTable load(String fileName, String xmlFileName, int[] grid) {
+
+		File file = new File(fileName);
+		if (!file.exists() || file.lastModified() < new File(xmlFileName).lastModified())
+			return null;
+
+		try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+			if (raf.length() < getHeaderSize(grid.length))
+				return null;													// truncated file
+			ByteBuffer buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+			if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(8) != grid.length)
+				return null;
+			int[] points = new int[grid.length];
+			for (int i = 0; i < grid.length; i++) {
+				points[i] = buffer.getInt(12 + 4 * i);
+				int requested = buffer.getInt(12 + 4 * (grid.length + i));
+				if (requested != grid[i])
+					return null;												// tabulated on another grid
+				if (points[i] != 1 && points[i] != grid[i])
+					return null;												// corrupt header
+			}
+			PolicyTable table = new PolicyTable(points, buffer);
+			return table.factors + 4 * table.cells == buffer.capacity() ? table : null;
+		} catch (IOException e) {
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+
+	/**
+	 * Saves the table to a file. The table is written to a temporary file in the same directory, which then replaces
+	 * the file atomically, so a crash never leaves a partial file, and a table file mapped by another player (e.g., with
+	 * another grid) is never truncated under its mapping.
+	 *
+	 * @param fileName	the name of the file
+	 * @param grid		the grid requested for tabulation
+	 */
+	public void save(String fileName, int[] grid) {
+
+		for (int i = 0; i < grid.length; i++)
+			table.putInt(12 + 4 * (grid.length + i), grid[i]);
+		Path target = Paths.get(fileName).toAbsolutePath();
+		Path temporary = null;
+		try {
+			temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+			try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+				ByteBuffer buffer = table.duplicate();
+				buffer.clear();
+				while (buffer.hasRemaining())
+					channel.write(buffer);
+			}
+			Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			e.printStackTrace();
+			try {
+				if (temporary != null)
+					Files.deleteIfExists(temporary);
+			} catch (IOException ignored) {
+			}
+		}
+	}
+
+
+	public int getRegisters() {
+
+		return points.length + 1;
+	}
+
+
+	public int eval(double[] registers) {
+
+		int cell = 0;
+
+		for (int i = 0; i < points.length; i++) {
+			long k = Math.round((registers[i] - low[i]) * scale[i]);			// the nearest grid point
+			if (k < 0)
+				k = 0;
+			else if (k >= points[i])
+				k = points[i] - 1;
+			cell += (int)k * stride[i];
+		}
+		int type = table.get(types + cell);
+		if (type == Move.RAISE)
+			registers[points.length] = table.getFloat(factors + 4 * cell);
+		return type;
+	}
+
+
+	/**
+	 * Returns the number of cells of the table.
+	 *
+	 * @return	the number of cells
+	 */
+	public int getCells() {
+
+		return cells;
+	}
+
+
+	/**
+	 * Returns a grid point of a feature.
+	 *
+	 * @param feature	the index of the feature
+	 * @param index		the index of the grid point
+	 *
+	 * @return			the value of the grid point
+	 */
+	private double getPoint(int feature, int index) {
+
+		return scale[feature] == 0.0 ? low[feature] : low[feature] + index / scale[feature];
+	}
+
+
+	/** Writes the header, the requested grid is set when saved. */
+	private void writeHeader() {
+
+		table.putInt(0, MAGIC);
+		table.putInt(4, VERSION);
+		table.putInt(8, points.length);
+		for (int i = 0; i < points.length; i++)
+			table.putInt(12 + 4 * i, points[i]);
+	}
+
+
+	/**
+	 * Returns the size of the header holding magic number, version, number of features, grid points, and the grid
+	 * requested.
+	 *
+	 * @param features	the number of features
+	 *
+	 * @return			the size in bytes
+	 */
+	private static int getHeaderSize(int features) {
+
+		return 12 + 8 * features;
+	}
+
+
+	/**
+	 * Returns the indices of the variables used by a program.
+	 *
+	 * @param tree			a program tree
+	 * @param variables		the number of variables
+	 *
+	 * @return				the indices in ascending order
+	 */
+	private static int[] getVariables(Tree tree, int variables) {
+
+		boolean[] used = new boolean[variables];
+		int count = 0;
+
+		synchronized (ProgramNode.class) {									// variable values are static
+			for (int i = 0; i < variables; i++)
+				ProgramNode.addValue((double)i);								// a variable node returns its index
+			try {
+				TreeIterator tit = tree.iterator();
+				while (tit.hasNext()) {
+					Object node = tit.next();
+					if (node instanceof VarDouble) {
+						int index = (int)(double)(Double)((VarDouble)node).eval();
+						count += used[index] ? 0 : 1;
+						used[index] = true;
+					}
+				}
+			} finally {
+				ProgramNode.clearValues();
+			}
+		}
+		int[] indices = new int[count];
+		for (int i = 0, k = 0; i < variables; i++) {
+			if (used[i])
+				indices[k++] = i;
+		}
+		return indices;
+	}
+
+
+	/**
+	 * The string representation of the table.
+	 *
+	 * @return a string describing the grid
+	 */
+	public String toString() {
+
+		return "PolicyTable " + Arrays.toString(points) + " (" + cells + " cells)";
+	}
+
+}
@@ -0,0 +1,31 @@
+package gpoker.gp;
+
+/**
+ * A program tree translated for fast evaluation. The evaluation works on primitive registers, where the first
+ * registers hold the values of the variables, and the register following the variables receives the pot factor of a
+ * RAISE. Further registers may be used as working space of the program. Hence, there is no boxing, and the program
+ * may be shared by players at different tables, as long as each player uses registers of its own.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public interface Program {
+
+	/**
+	 * Returns the number of registers needed for evaluation.
+	 *
+	 * @return	the number of registers including variables and pot factor
+	 */
+	int getRegisters();
+
+
+	/**
+	 * Evaluates the program.
+	 *
+	 * @param registers		the variable values followed by a register for the pot factor
+	 *
+	 * @return				the move type, e.g. {@code Move.RAISE}
+	 */
+	int eval(double[] registers);
+
+}
@@ -0,0 +1,347 @@
+package gpoker.gp;
+
+import evSOLve.JEvolution.gp.NullNode;
+import evSOLve.JEvolution.gp.ProgramNode;
+import evSOLve.JEvolution.gp.Tree;
+import evSOLve.JEvolution.gp.nodes.AddDouble;
+import evSOLve.JEvolution.gp.nodes.AndBoolean;
+import evSOLve.JEvolution.gp.nodes.ConstBoolean;
+import evSOLve.JEvolution.gp.nodes.ConstDouble;
+import evSOLve.JEvolution.gp.nodes.DivDouble;
+import evSOLve.JEvolution.gp.nodes.LessEqualBoolean;
+import evSOLve.JEvolution.gp.nodes.MultDouble;
+import evSOLve.JEvolution.gp.nodes.NotBoolean;
+import evSOLve.JEvolution.gp.nodes.OrBoolean;
+import evSOLve.JEvolution.gp.nodes.SubDouble;
+import evSOLve.JEvolution.gp.nodes.VarDouble;
+import gpoker.Move;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Compiles a program tree into a composition of method handles, which the JIT compiles to machine code like any
+ * other method. Each node becomes a handle taking the registers, so a double node yields a {@code double}, a boolean
+ * node a {@code boolean}, and a move node the move type (storing the pot factor of a RAISE in its register). An
+ * {@code IfMove} is a guard, hence only the selected path is evaluated just like in the tree.
+ * <p>
+ * A {@code NullNode} is compiled to the value the parent node assumes for a missing operand, so the compiled program
+ * gives the same results as {@code root.eval()}. Trees with other nodes are not compiled.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class ProgramCompiler {
+
+	/** The handles of the operations. */
+	private static final MethodHandle ADD;
+	private static final MethodHandle SUB;
+	private static final MethodHandle MULT;
+	private static final MethodHandle DIV;
+	private static final MethodHandle LESS_EQUAL;
+	private static final MethodHandle AND;
+	private static final MethodHandle OR;
+	private static final MethodHandle NOT;
+
+	/** The handles accessing the registers. */
+	private static final MethodHandle GET = MethodHandles.arrayElementGetter(double[].class);
+	private static final MethodHandle SET = MethodHandles.arrayElementSetter(double[].class);
+
+	static {
+		MethodHandles.Lookup lookup = MethodHandles.lookup();
+		MethodType arithmetic = MethodType.methodType(double.class, double.class, double.class);
+		MethodType comparison = MethodType.methodType(boolean.class, double.class, double.class);
+		MethodType logic = MethodType.methodType(boolean.class, boolean.class, boolean.class);
+
+		try {
+			ADD = lookup.findStatic(ProgramCompiler.class, "add", arithmetic);
+			SUB = lookup.findStatic(ProgramCompiler.class, "sub", arithmetic);
+			MULT = lookup.findStatic(ProgramCompiler.class, "mult", arithmetic);
+			DIV = lookup.findStatic(ProgramCompiler.class, "div", arithmetic);
+			LESS_EQUAL = lookup.findStatic(ProgramCompiler.class, "lessEqual", comparison);
+			AND = lookup.findStatic(ProgramCompiler.class, "and", logic);
+			OR = lookup.findStatic(ProgramCompiler.class, "or", logic);
+			NOT = lookup.findStatic(ProgramCompiler.class, "not", MethodType.methodType(boolean.class, boolean.class));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+
+	/** A program given by a method handle. */
+	private static class CompiledProgram implements Program {
+
+		/** The handle taking the registers and returning the move type. */
+		private final MethodHandle handle;
+
+		/** The number of registers. */
+		private final int registers;
+
+
+		/**
+		 * Constructs the program.
+		 *
+		 * @param handle		the handle of the root node
+		 * @param registers		the number of registers
+		 */
+		CompiledProgram(MethodHandle handle, int registers) {
+
+			this.handle = handle;
+			this.registers = registers;
+		}
+
+
+		public int getRegisters() {
+
+			return registers;
+		}
+
+
+		public int eval(double[] registers) {
+
+			try {
+				return (int)handle.invokeExact(registers);
+			} catch (Throwable e) {
+				throw new IllegalStateException("Compiled program failed.", e);
+			}
+		}
+	}
+
+
+	/** The index of the pot factor register. */
+	private final int potFactor;
+
+
+	/**
+	 * Constructs a compiler.
+	 *
+	 * @param variables		the number of variables
+	 */
+	private ProgramCompiler(int variables) {
+
+		potFactor = variables;
+	}
+
+
+	/**
+	 * Compiles a program tree. Pending mutations of variable nodes have to be settled before.
+	 *
+	 * @param tree			a program tree
+	 * @param variables		the number of variables
+	 *
+	 * @return				the compiled program, null if the tree is null or has nodes the compiler does not know
+	 */
+	public static Program compile(Tree tree, int variables) {
+
+		if (tree == null)
+			return null;
+
+		ProgramCompiler compiler = new ProgramCompiler(variables);
+		synchronized (ProgramNode.class) {									// variable values are static
+			for (int i = 0; i < variables; i++)
+				ProgramNode.addValue((double)i);								// a variable node returns its index
+			try {
+				return new CompiledProgram(compiler.compileMove((ProgramNode)tree.getRoot()), variables + 1);
+			} catch (IllegalArgumentException e) {
+				return null;													// unknown node
+			} finally {
+				ProgramNode.clearValues();
+			}
+		}
+	}
+
+
+	/**
+	 * Compiles a move node.
+	 *
+	 * @param node	a move node
+	 *
+	 * @return		a handle taking the registers and returning the move type
+	 */
+	private MethodHandle compileMove(ProgramNode node) {
+
+		if (node instanceof NullNode)
+			return constant(int.class, Move.FOLD);							// as with a missing consequence
+		if (node instanceof IfMove) {
+			return MethodHandles.guardWithTest(compileBoolean(child(node, 0)), compileMove(child(node, 1)),
+					compileMove(child(node, 2)));
+		}
+		if (node instanceof RaiseMove)
+			return raise(compileDouble(child(node, 0), 0.0));
+		if (node instanceof CallCheckMove || node instanceof ConstMove) {
+			Move move = (Move)node.eval();
+			if (move.getType() == Move.RAISE)
+				return raise(constant(double.class, move.getPotFactor()));
+			return constant(int.class, move.getType());
+		}
+		throw new IllegalArgumentException(node.getSignature());
+	}
+
+
+	/**
+	 * Compiles a boolean node.
+	 *
+	 * @param node	a boolean node
+	 *
+	 * @return		a handle taking the registers and returning a boolean
+	 */
+	private MethodHandle compileBoolean(ProgramNode node) {
+
+		if (node instanceof NullNode)
+			return constant(boolean.class, false);
+		if (node instanceof ConstBoolean)
+			return constant(boolean.class, node.eval());
+		if (node instanceof LessEqualBoolean)
+			return combine(LESS_EQUAL, compileDouble(child(node, 0), 0.0), compileDouble(child(node, 1), 0.0));
+		if (node instanceof AndBoolean)
+			return combine(AND, compileBoolean(child(node, 0)), compileBoolean(child(node, 1)));
+		if (node instanceof OrBoolean)
+			return combine(OR, compileBoolean(child(node, 0)), compileBoolean(child(node, 1)));
+		if (node instanceof NotBoolean)
+			return MethodHandles.filterReturnValue(compileBoolean(child(node, 0)), NOT);
+		throw new IllegalArgumentException(node.getSignature());
+	}
+
+
+	/**
+	 * Compiles a double node.
+	 *
+	 * @param node			a double node
+	 * @param nullValue		the value of a null node assumed by the parent
+	 *
+	 * @return				a handle taking the registers and returning a double
+	 */
+	private MethodHandle compileDouble(ProgramNode node, double nullValue) {
+
+		if (node instanceof NullNode)
+			return constant(double.class, nullValue);
+		if (node instanceof ConstDouble)
+			return constant(double.class, node.eval());
+		if (node instanceof VarDouble) {
+			int index = (int)(double)(Double)node.eval();					// the value is the index
+			return MethodHandles.insertArguments(GET, 1, index);
+		}
+		if (node instanceof AddDouble)
+			return combine(ADD, compileDouble(child(node, 0), 0.0), compileDouble(child(node, 1), 0.0));
+		if (node instanceof SubDouble)
+			return combine(SUB, compileDouble(child(node, 0), 0.0), compileDouble(child(node, 1), 0.0));
+		if (node instanceof MultDouble)
+			return combine(MULT, compileDouble(child(node, 0), 1.0), compileDouble(child(node, 1), 1.0));
+		if (node instanceof DivDouble)
+			return combine(DIV, compileDouble(child(node, 0), 1.0), compileDouble(child(node, 1), 1.0));
+		throw new IllegalArgumentException(node.getSignature());
+	}
+
+
+	/**
+	 * Returns a handle storing the pot factor in its register and returning RAISE.
+	 *
+	 * @param factor	a handle computing the pot factor
+	 *
+	 * @return			the handle of the raise
+	 */
+	private MethodHandle raise(MethodHandle factor) {
+
+		MethodHandle store = MethodHandles.insertArguments(SET, 1, potFactor);		// (registers, value)
+		store = MethodHandles.collectArguments(store, 1, factor);					// (registers, registers)
+		store = MethodHandles.permuteArguments(store, MethodType.methodType(void.class, double[].class), 0, 0);
+
+		return MethodHandles.foldArguments(constant(int.class, Move.RAISE), store);
+	}
+
+
+	/**
+	 * Returns a handle applying a binary operation to the results of two handles taking the registers.
+	 *
+	 * @param operation		a binary operation
+	 * @param left			the handle of the left operand
+	 * @param right			the handle of the right operand
+	 *
+	 * @return				the handle of the operation taking the registers
+	 */
+	private static MethodHandle combine(MethodHandle operation, MethodHandle left, MethodHandle right) {
+
+		MethodHandle handle = MethodHandles.filterArguments(operation, 0, left, right);
+
+		return MethodHandles.permuteArguments(handle,
+				MethodType.methodType(operation.type().returnType(), double[].class), 0, 0);
+	}
+
+
+	/**
+	 * Returns a handle taking the registers and returning a constant.
+	 *
+	 * @param type		the type of the constant
+	 * @param value		the constant
+	 *
+	 * @return			the handle
+	 */
+	private static MethodHandle constant(Class<?> type, Object value) {
+
+		return MethodHandles.dropArguments(MethodHandles.constant(type, value), 0, double[].class);
+	}
+
+
+	/**
+	 * Returns a child of a node.
+	 *
+	 * @param node		a node
+	 * @param index		the index of the child
+	 *
+	 * @return			the child
+	 */
+	private static ProgramNode child(ProgramNode node, int index) {
+
+		return (ProgramNode)node.getChildAt(index);
+	}
+
+
+	private static double add(double a, double b) {
+
+		return a + b;
+	}
+
+
+	private static double sub(double a, double b) {
+
+		return a - b;
+	}
+
+
+	private static double mult(double a, double b) {
+
+		return a * b;
+	}
+
+
+	private static double div(double a, double b) {
+
+		return a / b;
+	}
+
+
+	private static boolean lessEqual(double a, double b) {
+
+		return a <= b;
+	}
+
+
+	private static boolean and(boolean a, boolean b) {
+
+		return a && b;
+	}
+
+
+	private static boolean or(boolean a, boolean b) {
+
+		return a || b;
+	}
+
+
+	private static boolean not(boolean a) {
+
+		return !a;
+	}
+
+}
@@ -1,7 +1,6 @@
 package gpoker.gp;
 
 import evSOLve.JEvolution.gp.ProgramNode;
-import gpoker.Director;
 import gpoker.Move;
 import org.jdom2.Element;
 
@@ -72,7 +71,7 @@ public class RaiseMove extends ProgramNode {
 
 	
 	/**
-	 * Evaluates the node and returns the raise with the bet.
+	 * Evaluates the node and returns the raise with the bet as a factor of the pot.
 	 * 
 	 * @return	the raise move
 	 */
@@ -80,7 +79,7 @@ public class RaiseMove extends ProgramNode {
 
 		Object val = children[0].eval();
 		double potFactor = val == null ? 0.0 : (Double)val;
-		move.setBet((int)(potFactor * Director.getInstance().getDealer().getPot()));	// not too pretty
+		move.setPotFactor(potFactor);								// the player computes the bet
 
 		return move;
 	}
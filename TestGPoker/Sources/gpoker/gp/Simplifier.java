@@ -0,0 +1,214 @@
+package gpoker.gp;
+
+import evSOLve.JEvolution.gp.NullNode;
+import evSOLve.JEvolution.gp.ProgramNode;
+import evSOLve.JEvolution.gp.Tree;
+import evSOLve.JEvolution.gp.nodes.AddDouble;
+import evSOLve.JEvolution.gp.nodes.AndBoolean;
+import evSOLve.JEvolution.gp.nodes.ConstBoolean;
+import evSOLve.JEvolution.gp.nodes.ConstDouble;
+import evSOLve.JEvolution.gp.nodes.DivDouble;
+import evSOLve.JEvolution.gp.nodes.LessEqualBoolean;
+import evSOLve.JEvolution.gp.nodes.MultDouble;
+import evSOLve.JEvolution.gp.nodes.NotBoolean;
+import evSOLve.JEvolution.gp.nodes.OrBoolean;
+import evSOLve.JEvolution.gp.nodes.SubDouble;
+import evSOLve.JEvolution.gp.nodes.VarDouble;
+import gpoker.Move;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Simplifies a program tree, so only its effective code is played. The simplifier works on a clone, as the tree
+ * of an evolved player is its genotype. It performs
+ *
+ * <li>constant folding of arithmetic and boolean nodes with constant operands (a {@code NullNode} being the
+ * constant the parent assumes),</li>
+ * <li>dead branch elimination of an {@code IfMove} with a constant condition,</li>
+ * <li>removal of redundant comparisons, i.e., an {@code IfMove} with the same condition as its parent, and</li>
+ * <li>removal of an {@code IfMove} with equal branches.</li>
+ *
+ * <p>
+ * Folding evaluates the very nodes with their operands, hence the simplified program gives the same results as the
+ * original one. Common subexpressions are shared when flattening the program (see {@code FlatProgram}) by means of
+ * the structural keys of this class.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class Simplifier {
+
+	/** The structural keys of the nodes computed so far. */
+	private final Map<ProgramNode, String> keys = new IdentityHashMap<>();
+
+
+	/**
+	 * Returns a simplified clone of a program tree. Pending mutations of variable nodes have to be settled before.
+	 *
+	 * @param tree			a program tree
+	 * @param variables		the number of variables
+	 *
+	 * @return				the simplified tree, null if the tree is null
+	 */
+	public static Tree simplify(Tree tree, int variables) {
+
+		if (tree == null)
+			return null;
+
+		synchronized (ProgramNode.class) {									// variable values are static
+			for (int i = 0; i < variables; i++)
+				ProgramNode.addValue((double)i);								// a variable node returns its index
+			try {
+				ProgramNode root = new Simplifier().simplify(((ProgramNode)tree.getRoot()).clone());
+				root.setParent(null);
+				return new Tree(root);
+			} finally {
+				ProgramNode.clearValues();
+			}
+		}
+	}
+
+
+	/**
+	 * Simplifies a node after simplifying its children.
+	 *
+	 * @param node	a node
+	 *
+	 * @return		the simplified node, which may be the node itself
+	 */
+	private ProgramNode simplify(ProgramNode node) {
+
+		for (int i = 0, n = node.getChildCount(); i < n; i++) {
+			ProgramNode child = child(node, i);
+			ProgramNode simple = simplify(child);
+			if (simple != child)
+				node.insert(simple, i);
+		}
+		if (node instanceof IfMove)
+			return simplifyIf(node);
+		if (isFoldable(node)) {
+			for (int i = 0, n = node.getChildCount(); i < n; i++) {
+				if (!isConstant(child(node, i)))
+					return node;
+			}
+			Object value = node.eval();										// the constant result
+			if (value instanceof Double)
+				return new ConstDouble(0.0, 1.0, (Double)value);
+			return new ConstBoolean((Boolean)value);
+		}
+		return node;
+	}
+
+
+	/**
+	 * Simplifies an {@code IfMove}, whose children have already been simplified.
+	 *
+	 * @param node	an {@code IfMove}
+	 *
+	 * @return		the simplified node
+	 */
+	private ProgramNode simplifyIf(ProgramNode node) {
+
+		ProgramNode condition = child(node, 0);
+
+		if (isConstant(condition)) {
+			Object value = condition.eval();
+			return value != null && (Boolean)value ? child(node, 1) : child(node, 2);	// dead branch
+		}
+		String key = getKey(condition);
+		ProgramNode path = child(node, 1);
+		while (path instanceof IfMove && getKey(child(path, 0)).equals(key))
+			path = child(path, 1);											// condition is true here
+		node.insert(path, 1);
+		path = child(node, 2);
+		while (path instanceof IfMove && getKey(child(path, 0)).equals(key))
+			path = child(path, 2);											// condition is false here
+		node.insert(path, 2);
+
+		if (getKey(child(node, 1)).equals(getKey(child(node, 2))))
+			return child(node, 1);											// same move anyway
+		return node;
+	}
+
+
+	/**
+	 * Returns the structural key of a node. Nodes with the same key compute the same value. The key is cached, so
+	 * the subtree of the node must not be changed afterwards. Variable nodes must return their index.
+	 *
+	 * @param node	a node
+	 *
+	 * @return		the key
+	 */
+	String getKey(ProgramNode node) {
+
+		String key = keys.get(node);
+
+		if (key == null) {
+			if (node instanceof NullNode)
+				key = "null";
+			else if (node instanceof ConstDouble)
+				key = "c" + Long.toHexString(Double.doubleToLongBits((Double)node.eval()));
+			else if (node instanceof ConstBoolean)
+				key = "b" + node.eval();
+			else if (node instanceof VarDouble)
+				key = "v" + (int)(double)(Double)node.eval();
+			else if (node instanceof CallCheckMove || node instanceof ConstMove) {
+				Move move = (Move)node.eval();
+				key = "m" + move.getType();
+				if (move.getType() == Move.RAISE)
+					key += ":" + Long.toHexString(Double.doubleToLongBits(move.getPotFactor()));
+			} else {
+				key = node.getClass().getSimpleName() + "(";
+				for (int i = 0, n = node.getChildCount(); i < n; i++)
+					key += (i > 0 ? "," : "") + getKey(child(node, i));
+				key += ")";
+			}
+			keys.put(node, key);
+		}
+		return key;
+	}
+
+
+	/**
+	 * Checks if a node is an arithmetic or boolean function, whose value only depends on its operands.
+	 *
+	 * @param node	a node
+	 *
+	 * @return		true, if foldable
+	 */
+	private static boolean isFoldable(ProgramNode node) {
+
+		return node instanceof AddDouble || node instanceof SubDouble || node instanceof MultDouble
+				|| node instanceof DivDouble || node instanceof LessEqualBoolean || node instanceof AndBoolean
+				|| node instanceof OrBoolean || node instanceof NotBoolean;
+	}
+
+
+	/**
+	 * Checks if a node is a constant.
+	 *
+	 * @param node	a node
+	 *
+	 * @return		true, if constant
+	 */
+	private static boolean isConstant(ProgramNode node) {
+
+		return node instanceof ConstDouble || node instanceof ConstBoolean || node instanceof NullNode;
+	}
+
+
+	/**
+	 * Returns a child of a node.
+	 *
+	 * @param node		a node
+	 * @param index		the index of the child
+	 *
+	 * @return			the child
+	 */
+	private static ProgramNode child(ProgramNode node, int index) {
+
+		return (ProgramNode)node.getChildAt(index);
+	}
+
+}
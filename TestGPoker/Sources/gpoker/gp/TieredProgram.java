@@ -0,0 +1,84 @@
+package gpoker.gp;
+
+import evSOLve.JEvolution.gp.Tree;
+
+/**
+ * A program starting as a flat program, which is compiled to method handles after a number of evaluations. Compiling
+ * only pays off for programs played for a long time, as it takes a while until the JIT has optimized the handles.
+ * Many players (e.g., the opponents at the tables of a fitness evaluation) only play a few hundred hands, so they
+ * never get compiled.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class TieredProgram implements Program {
+
+	/** The number of evaluations before the program is compiled. */
+	public static final int COMPILE_THRESHOLD = 10000;
+
+	/** The program tree. */
+	private final Tree tree;
+
+	/** The number of variables. */
+	private final int variables;
+
+	/** The flat program. */
+	private final Program flat;
+
+	/** The compiled program, null if not yet compiled. */
+	private volatile Program compiled;
+
+	/** The number of evaluations of the flat program. As it only triggers compilation, races do not matter. */
+	private int evaluations;
+
+
+	/**
+	 * Constructs the program.
+	 *
+	 * @param tree			the program tree
+	 * @param variables		the number of variables
+	 * @param flat			the flat program of the tree
+	 */
+	private TieredProgram(Tree tree, int variables, Program flat) {
+
+		this.tree = tree;
+		this.variables = variables;
+		this.flat = flat;
+	}
+
+
+	/**
+	 * Creates a tiered program of a tree. Pending mutations of variable nodes have to be settled before, and the tree
+	 * must not be changed later.
+	 *
+	 * @param tree			a program tree
+	 * @param variables		the number of variables
+	 *
+	 * @return				the program, null if the tree is null or has nodes not known
+	 */
+	public static Program create(Tree tree, int variables) {
+
+		Program flat = FlatProgram.flatten(tree, variables);
+
+		return flat == null ? null : new TieredProgram(tree, variables, flat);
+	}
+
+
+	public int getRegisters() {
+
+		return flat.getRegisters();										// the compiled program needs less
+	}
+
+
+	public int eval(double[] registers) {
+
+		Program compiled = this.compiled;
+
+		if (compiled != null)
+			return compiled.eval(registers);
+		if (++evaluations == COMPILE_THRESHOLD)
+			this.compiled = ProgramCompiler.compile(tree, variables);
+		return flat.eval(registers);
+	}
+
+}
@@ -135,6 +135,7 @@ public class Culture extends FitnessEvaluator {
 		List<Player> table = dealer.getPlayers();
 		table.clear();
 		table.add(player);
+		replay(dealer);
 		int winCount = 0;
 
 		for (GPlayer p : culture) {
@@ -154,6 +155,17 @@ public class Culture extends FitnessEvaluator {
 	}
 
 
+	/** The games of a player also add to the earnings of the masters, which decide on the masters kept, and may add
+	 * the player to the culture, hence the games are always played, and the fitness is not cached.
+	 *
+	 * @return			null
+	 */
+	public String getStamp() {
+
+		return null;
+	}
+
+
 	/** Returns the XML representation of the culture.
 	 *
 	 * @return			the culture in XML
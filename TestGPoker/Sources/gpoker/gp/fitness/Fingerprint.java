@@ -0,0 +1,145 @@
+package gpoker.gp.fitness;
+
+import gpoker.Card;
+import gpoker.Dealer;
+import gpoker.Hand;
+import gpoker.HandStrength;
+import gpoker.Move;
+import gpoker.gp.Program;
+import gpoker.players.CodePlayer;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * The behavioral fingerprint of a program. The program is evaluated on a fixed bank of probes, i.e., decision
+ * situations given by the features of a {@code CodePlayer}, and the moves are hashed after the dealer has checked them.
+ * Hence, programs differing only by introns, or by raises clamped to the same bet, have the same fingerprint.
+ * <p>
+ * As the probes are only a sample of the situations at the table, programs with the same fingerprint may still play
+ * differently in rare situations. With many probes this is unlikely.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class Fingerprint {
+
+	/** The seed of the probes, so the fingerprints do not depend on the evolution. */
+	private static final long SEED = 20170501L;
+
+	/** The features of the probes (and a register for the pot factor). */
+	private final double[][] features;
+
+	/** The pot, the bet level, the stage bets, and the chips of the player for each probe. */
+	private final int[] pot, betLevel, stageBets, chips;
+
+	/** The big blind. */
+	private final int bigBlind;
+
+
+	/**
+	 * Constructs a bank of probes.
+	 *
+	 * @param probes			the number of probes
+	 * @param players			the number of players at the table
+	 * @param chipsPerPlayer	the chips per player at the start of a game
+	 * @param bigBlind			the big blind
+	 */
+	public Fingerprint(int probes, int players, int chipsPerPlayer, int bigBlind) {
+
+		Random random = new Random(SEED);
+		int totalChips = players * chipsPerPlayer;
+
+		this.bigBlind = bigBlind;
+		features = new double[probes][];
+		pot = new int[probes];
+		betLevel = new int[probes];
+		stageBets = new int[probes];
+		chips = new int[probes];
+
+		for (int i = 0; i < probes; i++) {
+			double[] f = new double[CodePlayer.getNumberOfFeatures() + 1];
+			int stage = random.nextInt(Dealer.RIVER + 1);
+			int high = random.nextInt(Card.ACE + 1);
+			int low = random.nextInt(high + 1);
+			int handValue, communityValue;
+			if (stage == Dealer.PRE_FLOP) {
+				handValue = high == low ? Hand.ONE_PAIR : Hand.HIGH_CARD;
+				communityValue = Hand.NOT_EVALUATED;
+			} else {
+				handValue = Hand.HIGH_CARD + Math.min(random.nextInt(Hand.STRAIGHT_FLUSH), random.nextInt(Hand.STRAIGHT_FLUSH));
+				communityValue = Hand.HIGH_CARD + random.nextInt(handValue);
+			}
+			pot[i] = bigBlind + bigBlind / 2 + random.nextInt(totalChips / 2);
+			betLevel[i] = random.nextBoolean() ? 0 : bigBlind * (1 + random.nextInt(10));
+			stageBets[i] = random.nextBoolean() ? betLevel[i] : random.nextInt(betLevel[i] + 1);
+			chips[i] = random.nextInt(Math.max(1, totalChips - pot[i]));
+
+			f[0] = high / (double)Card.ACE;										// high hole
+			f[1] = low / (double)Card.ACE;											// low hole
+			f[2] = (double)handValue / Hand.STRAIGHT_FLUSH;						// hand value
+			f[3] = (double)pot[i] / totalChips;									// pot value
+			f[4] = (double)(betLevel[i] - stageBets[i]) / totalChips;			// bet value
+			f[5] = (double)stage / Dealer.RIVER;									// stage value
+			f[6] = random.nextInt(players);										// position
+			f[7] = (double)communityValue / Hand.STRAIGHT_FLUSH;					// community value
+			f[8] = random.nextInt(Card.ACE + 1) / (double)Card.ACE;				// pivot value
+			f[9] = (double)chips[i] / chipsPerPlayer;							// stack value
+			if (HandStrength.isEnabled()) {
+				f[10] = Math.pow(random.nextDouble(), 1 + random.nextInt(Math.max(1, players - 1)));	// hand strength
+				f[11] = random.nextDouble() * random.nextDouble();					// positive potential
+				f[12] = random.nextDouble() * random.nextDouble();					// negative potential
+			}
+			features[i] = f;
+		}
+	}
+
+
+	/**
+	 * Returns the fingerprint of a program, i.e., a hash of the moves on all probes.
+	 *
+	 * @param code	a program
+	 *
+	 * @return		the fingerprint
+	 */
+	public long hash(Program code) {
+
+		int variables = CodePlayer.getNumberOfFeatures();
+		double[] registers = new double[Math.max(code.getRegisters(), variables + 1)];
+		long h = features.length;
+
+		for (int i = 0; i < features.length; i++) {
+			System.arraycopy(features[i], 0, registers, 0, features[i].length);
+			int type = code.eval(registers);
+			int bet = 0;
+			if (type == Move.CHECK && stageBets[i] != betLevel[i])				// as the dealer checks the move
+				type = Move.FOLD;
+			else if (type == Move.CALL && stageBets[i] == betLevel[i])
+				type = Move.CHECK;
+			else if (type == Move.RAISE) {
+				bet = (int)(registers[variables] * pot[i]);
+				bet = Math.max(bet, betLevel[i] + bigBlind);
+				bet = Math.min(bet, stageBets[i] + chips[i]);
+			}
+			h = h * 0x9E3779B97F4A7C15L + type;
+			h = h * 0x9E3779B97F4A7C15L + bet;
+		}
+		return h ^ (h >>> 32);
+	}
+
+
+	/**
+	 * The string representation of the probes.
+	 *
+	 * @return a string describing the probes
+	 */
+	public String toString() {
+
+		String s = "Fingerprint: " + features.length + " probes\n";
+
+		for (double[] f : features)
+			s += Arrays.toString(Arrays.copyOf(f, f.length - 1)) + '\n';
+		return s;
+	}
+
+}
@@ -0,0 +1,259 @@
+package gpoker.gp.fitness;
+
+import evSOLve.JEvolution.gp.NullNode;
+import evSOLve.JEvolution.gp.ProgramNode;
+import evSOLve.JEvolution.gp.Tree;
+import evSOLve.JEvolution.gp.nodes.ConstBoolean;
+import evSOLve.JEvolution.gp.nodes.ConstDouble;
+import evSOLve.JEvolution.gp.nodes.VarDouble;
+import gpoker.Move;
+import gpoker.gp.CallCheckMove;
+import gpoker.gp.ConstMove;
+import gpoker.gp.Simplifier;
+import gpoker.players.CodePlayer;
+import gpoker.players.GPlayer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the fitness of programs, so a program evolved again (e.g., an offspring equal to a parent) is not played
+ * again. The key of a program is a hash of its simplified tree, where constants are quantized, and the stamp of the
+ * fitness evaluator describing all other conditions of the evaluation (the evaluator type, its seeding, the culture).
+ * With a behavioral fingerprint the key of a program is its fingerprint instead, so all programs playing the same
+ * moves on the probes of the fingerprint share the fitness. The least recently used entry is evicted, when the cache
+ * is full.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class FitnessCache {
+
+	/** The resolution of the constants. Constants differing by less are considered equal. */
+	public static final double QUANTUM = 1.0E-6;
+
+	/** The fitness by key in the order of access. */
+	private final LinkedHashMap<String, Double> fitness;
+
+	/** The fingerprint of the programs, null if programs are keyed by their trees. */
+	private Fingerprint fingerprint;
+
+	/** The number of hits. */
+	private long hits;
+
+	/** The number of misses. */
+	private long misses;
+
+	/** The number of evicted entries. */
+	private long evictions;
+
+	/** The number of evaluations shared with an equal program evaluated at the same time. */
+	private long shared;
+
+
+	/**
+	 * Constructs a cache.
+	 *
+	 * @param capacity	the maximal number of entries
+	 */
+	public FitnessCache(final int capacity) {
+
+		fitness = new LinkedHashMap<String, Double>(16, 0.75f, true) {
+			protected boolean removeEldestEntry(Map.Entry<String, Double> eldest) {
+
+				if (size() <= capacity)
+					return false;
+				++evictions;
+				return true;
+			}
+		};
+	}
+
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param capacity	the maximal number of entries
+	 *
+	 * @return			the cache, null if the capacity is not positive
+	 */
+	public static FitnessCache create(int capacity) {
+
+		return capacity > 0 ? new FitnessCache(capacity) : null;
+	}
+
+
+	/**
+	 * Sets the fingerprint of the programs.
+	 *
+	 * @param fingerprint	a fingerprint, null if programs are keyed by their trees
+	 */
+	public void setFingerprint(Fingerprint fingerprint) {
+
+		this.fingerprint = fingerprint;
+	}
+
+
+	/**
+	 * Returns the key of the program of a player.
+	 *
+	 * @param player	an evolved player
+	 * @param stamp		the stamp of the evaluator
+	 *
+	 * @return			the key
+	 */
+	public String getKey(GPlayer player, String stamp) {
+
+		if (fingerprint != null && player.getCode() != null)
+			return stamp + ":f" + Long.toHexString(fingerprint.hash(player.getCode()));
+		return stamp + ":t" + Long.toHexString(hash(player.getProgram(), CodePlayer.getNumberOfFeatures()));
+	}
+
+
+	/**
+	 * Returns the cached fitness of a program.
+	 *
+	 * @param key	the key of the program
+	 *
+	 * @return		the fitness, null if not cached
+	 */
+	public synchronized Double get(String key) {
+
+		Double value = fitness.get(key);
+
+		if (value == null)
+			++misses;
+		else
+			++hits;
+		return value;
+	}
+
+
+	/**
+	 * Caches the fitness of a program.
+	 *
+	 * @param key		the key of the program
+	 * @param value		the fitness
+	 */
+	public synchronized void put(String key, double value) {
+
+		fitness.put(key, value);
+	}
+
+
+	/** Counts an evaluation shared with an equal program evaluated at the same time. */
+	public synchronized void countShared() {
+
+		++shared;
+	}
+
+
+	/**
+	 * Returns the canonical hash of a program. Programs with the same simplified tree (up to the quantization of the
+	 * constants) have the same hash.
+	 *
+	 * @param program		a program tree
+	 * @param variables		the number of variables
+	 *
+	 * @return				the hash
+	 */
+	public static long hash(Tree program, int variables) {
+
+		Tree tree = Simplifier.simplify(program, variables);
+
+		synchronized (ProgramNode.class) {									// variable values are static
+			for (int i = 0; i < variables; i++)
+				ProgramNode.addValue((double)i);								// a variable node returns its index
+			try {
+				return mix(hash((ProgramNode)tree.getRoot()));
+			} finally {
+				ProgramNode.clearValues();
+			}
+		}
+	}
+
+
+	/**
+	 * Returns the hash of a subtree.
+	 *
+	 * @param node	the root of the subtree
+	 *
+	 * @return		the hash
+	 */
+	private static long hash(ProgramNode node) {
+
+		if (node instanceof NullNode)
+			return 1;
+		if (node instanceof ConstDouble)
+			return combine(2, quantize((Double)node.eval()));
+		if (node instanceof ConstBoolean)
+			return combine(3, (Boolean)node.eval() ? 1 : 0);
+		if (node instanceof VarDouble)
+			return combine(4, (long)(double)(Double)node.eval());
+		if (node instanceof CallCheckMove || node instanceof ConstMove) {
+			Move move = (Move)node.eval();
+			return combine(combine(5, move.getType()), move.getType() == Move.RAISE ? quantize(move.getPotFactor()) : 0);
+		}
+		long h = node.getClass().getName().hashCode();
+		for (int i = 0, n = node.getChildCount(); i < n; i++)
+			h = combine(h, hash((ProgramNode)node.getChildAt(i)));
+		return h;
+	}
+
+
+	/**
+	 * Returns a quantized constant.
+	 *
+	 * @param value		a constant
+	 *
+	 * @return			the number of quanta
+	 */
+	private static long quantize(double value) {
+
+		return Math.round(value / QUANTUM);
+	}
+
+
+	/**
+	 * Combines a hash with a value.
+	 *
+	 * @param h			a hash
+	 * @param value		a value
+	 *
+	 * @return			the combined hash
+	 */
+	private static long combine(long h, long value) {
+
+		return mix(h) * 31 + value;
+	}
+
+
+	/**
+	 * Mixes the bits of a hash (the finalizer of SplitMix64).
+	 *
+	 * @param h		a hash
+	 *
+	 * @return		the mixed hash
+	 */
+	private static long mix(long h) {
+
+		h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+		h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+		return h ^ (h >>> 31);
+	}
+
+
+	/**
+	 * The statistics of the cache.
+	 *
+	 * @return a string describing the cache
+	 */
+	public synchronized String toString() {
+
+		long lookups = hits + misses;
+
+		return String.format("Fitness cache: %d lookups, %d hits (%.1f%%), %d shared, %d entries, %d evictions",
+				lookups, hits, lookups == 0 ? 0.0 : 100.0 * hits / lookups, shared, fitness.size(), evictions);
+	}
+
+}
@@ -1,5 +1,9 @@
 package gpoker.gp.fitness;
 
+import evSOLve.JEvolution.JEvolution;
+import gpoker.DealCorpus;
+import gpoker.Dealer;
+import gpoker.Director;
 import gpoker.misc.Utilities;
 import gpoker.misc.Xml;
 import gpoker.players.GPlayer;
@@ -12,6 +16,18 @@ import org.jdom2.Element;
  */
 public abstract class FitnessEvaluator {
 
+	/** The number of threads evaluating players in parallel. */
+	protected int threads = 1;
+
+	/** Indicates that each player is evaluated on a table of its own with its own deck. */
+	protected boolean seeded;
+
+	/** The fitness cache, null if fitness is not cached. */
+	protected FitnessCache cache;
+
+	/** The number of decks of a deal corpus the dealers move on with each generation. */
+	protected int corpusShift;
+
 
 	/** Creates an evaluator by its class name found in XML.
 	 *
@@ -30,6 +46,143 @@ public abstract class FitnessEvaluator {
 	}
 
 
+	/** Sets the number of threads evaluating players in parallel. Evaluators not supporting parallel evaluation
+	 * ignore this setting.
+	 *
+	 * @param threads	the number of threads
+	 */
+	public void setThreads(int threads) {
+
+		this.threads = Math.max(1, threads);
+	}
+
+
+	/** Sets seeded evaluation. Then each player is evaluated on a fresh table, whose random numbers are a stream split
+	 * off the master stream of the director, so the results do not depend on the number of threads.
+	 *
+	 * @param seeded	true, if players are evaluated on tables of their own
+	 */
+	public void setSeeded(boolean seeded) {
+
+		this.seeded = seeded;
+	}
+
+
+	/** Sets the fitness cache.
+	 *
+	 * @param cache		a cache, null if fitness is not cached
+	 */
+	public void setCache(FitnessCache cache) {
+
+		this.cache = cache;
+	}
+
+
+	/** Returns the fitness cache.
+	 *
+	 * @return			the cache, null if fitness is not cached
+	 */
+	public FitnessCache getCache() {
+
+		return cache;
+	}
+
+
+	/** Sets the number of decks of a deal corpus the dealers move on with each generation. With 0 all generations
+	 * play the same decks, otherwise each generation plays other decks, but all players of a generation play the
+	 * same decks.
+	 *
+	 * @param corpusShift	the number of decks
+	 */
+	public void setCorpusShift(int corpusShift) {
+
+		this.corpusShift = Math.max(0, corpusShift);
+	}
+
+
+	/** Lets a dealer replay its deal corpus from the first deck of the current generation. Without a corpus nothing
+	 * changes.
+	 *
+	 * @param dealer	a dealer
+	 */
+	protected void replay(Dealer dealer) {
+
+		if (dealer.getCorpus() != null)
+			dealer.setCorpusStart(getCorpusStart());
+	}
+
+
+	/** Returns the index of the first deck of a deal corpus played in the current generation.
+	 *
+	 * @return          the index of a deck
+	 */
+	protected long getCorpusStart() {
+
+		return (long)JEvolution.getInstance().getGenerationCount() * corpusShift;
+	}
+
+
+	/** Returns the stamp of the conditions determining the fitness of a program, i.e., the evaluator type, its
+	 * seeding, and the decks of a deal corpus. Cached fitness is only used with an equal stamp, so evaluators with
+	 * further conditions have to add them to the stamp. Without a deal corpus the decks are random, and the fitness is
+	 * a random sample, which must not be reused.
+	 *
+	 * @return          the stamp, null if the fitness cannot be cached
+	 */
+	public String getStamp() {
+
+		DealCorpus corpus = Director.getInstance().getDealer().getCorpus();
+		if (corpus == null)
+			return null;
+
+		return getClass().getSimpleName() + (seeded ? "/seeded" : "/unseeded") + "/" + corpus + "@" + getCorpusStart();
+	}
+
+
+	/** Returns the key of a player in the fitness cache.
+	 *
+	 * @param player	an evolved player
+	 *
+	 * @return          the key, null if the fitness is not cached
+	 */
+	protected String getKey(GPlayer player) {
+
+		String stamp = cache == null ? null : getStamp();
+
+		return stamp == null ? null : cache.getKey(player, stamp);
+	}
+
+
+	/** Sets the cached fitness of a player.
+	 *
+	 * @param player	an evolved player
+	 * @param key		the key of the player, null if the fitness is not cached
+	 *
+	 * @return          true, if the fitness has been cached
+	 */
+	protected boolean lookUp(GPlayer player, String key) {
+
+		Double fitness = key == null ? null : cache.get(key);
+
+		if (fitness == null)
+			return false;
+		player.setFitness(fitness);
+		return true;
+	}
+
+
+	/** Caches the fitness of an evaluated player.
+	 *
+	 * @param player	an evolved player
+	 * @param key		the key of the player, null if the fitness is not cached
+	 */
+	protected void record(GPlayer player, String key) {
+
+		if (key != null)
+			cache.put(key, player.getFitness());
+	}
+
+
 	/** Returns the XML representation of the evaluator. This default implementation returns null.
 	 *
 	 * @return          the child node representing the fitness evaluator (here null)
@@ -40,6 +193,14 @@ public abstract class FitnessEvaluator {
 	}
 
 
+	/** Releases the resources of the evaluator (e.g., threads) after the evolution. This default implementation does
+	 * nothing.
+	 */
+	public void shutdown() {
+
+	}
+
+
 	/** Evaluates the fitness of an evolved player.
 	 *
 	 * @param player	an evolved player
@@ -1,7 +1,6 @@
 package gpoker.gp.fitness;
 
 import evSOLve.JEvolution.JEvolution;
-import evSOLve.JEvolution.misc.Utilities;
 import gpoker.Dealer;
 import gpoker.Director;
 import gpoker.Player;
@@ -77,7 +76,7 @@ public class KOTournament extends FitnessEvaluator {
 
 		while (gameCount > 0) {
 			System.out.println("New round: " + gameCount + " games, " + players.size() + " players");
-			int index = Utilities.nextIntegerInRange(0, players.size() - 1);			// first random player
+			int index = Director.getInstance().getDealer().getTable().getRandom().nextInt(players.size());	// first random player
 			for (int i = 0; i < gameCount; i++)
 				index = playGame(index);
 			gameCount = players.size() / playersPerTable;
@@ -105,6 +104,7 @@ public class KOTournament extends FitnessEvaluator {
 		Dealer dealer = Director.getInstance().getDealer();
 		List<Player> table = dealer.getPlayers();
 		table.clear();
+		replay(dealer);
 
 		for (int i = 0; i < playersPerTable; i++) {
 			dealer.addPlayer(players.get(index));				// pick a random player
@@ -126,6 +126,16 @@ public class KOTournament extends FitnessEvaluator {
 	}
 
 
+	/** The fitness depends on the other players of the population, hence it cannot be cached.
+	 *
+	 * @return			null
+	 */
+	public String getStamp() {
+
+		return null;
+	}
+
+
 	/**
 	 * The string representation of the evaluator.
 	 *
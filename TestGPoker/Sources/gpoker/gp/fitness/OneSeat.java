@@ -1,19 +1,67 @@
 package gpoker.gp.fitness;
 
+import evSOLve.JEvolution.JEvolution;
+import gpoker.Dealer;
 import gpoker.Director;
 import gpoker.Player;
+import gpoker.TableContext;
+import gpoker.misc.RandomStream;
+import gpoker.modes.TournamentMode;
 import gpoker.players.GPlayer;
 import org.jdom2.Element;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
 /**
  * The OneSeat evaluator simply places the evolved player at the table and lets it play the game against the other
  * players at the table. The fitness is then the wins of the player.
+ * <p>
+ * With more than one thread or seeded evaluation, all players of a population are collected first. Then each player
+ * gets a table of its own (with a deck seeded in the order of collection), and the tables are played by a pool of
+ * threads. Hence, the fitness of a player does not depend on the number of threads. The tables are set up from XML
+ * once and reused by the players collected at the same position in later generations, so the opponents are only
+ * created once (like the opponents of the single table, when the players are evaluated one after the other).
  *
  * @author Helmut A. Mayer
  * @since May 10, 2016
  */
 public class OneSeat extends FitnessEvaluator {
 
+	/** The number of players in a population. */
+	private int totalEntries;
+
+	/** The number of players of the population evaluated so far. */
+	private int entryCount;
+
+	/** The players waiting for evaluation. */
+	private List<GPlayer> entries;
+
+	/** The keys of the players waiting for evaluation in the fitness cache. */
+	private List<String> keys;
+
+	/** The players waiting for evaluation by key, so an equal player shares the evaluation. */
+	private Map<String, GPlayer> leaders;
+
+	/** The players sharing the evaluation of an equal player waiting for evaluation. */
+	private Map<GPlayer, GPlayer> followers;
+
+	/** The tables by position of collection, set up on first demand and reused in later generations. */
+	private List<TournamentMode> modes;
+
+	/** The pool of threads playing the tables. */
+	private ExecutorService executor;
+
+
 	/**
 	 * Creates the evaluator via XML.
 	 *
@@ -21,23 +69,145 @@ public class OneSeat extends FitnessEvaluator {
 	 */
 	public OneSeat(Element element) {
 
+		totalEntries = JEvolution.getInstance().getPopulationSize();
+		entries = new ArrayList<>(totalEntries);
+		keys = new ArrayList<>(totalEntries);
+		leaders = new HashMap<>();
+		followers = new IdentityHashMap<>();
+		modes = new ArrayList<>();
 	}
 
 
 	/**
 	 * Evaluates the fitness, by placing the player at a seat at the table. Before the old GPlayer at the table
 	 * has to be replaced by this next GPlayer, which has to be evaluated. The fitness is determined by the wins of the
-	 * player.
+	 * player. A player with cached fitness does not play, and a player equal to a player waiting for evaluation shares
+	 * its evaluation.
 	 *
 	 * @param player	an evolved player
 	 *
 	 */
 	public void evaluate(GPlayer player) {
 
-		Player old = Director.getInstance().getPlayer("GPlayer");
-		Director.getInstance().getTournamentMode().replacePlayer(old, player);
-		Director.getInstance().getTournamentMode().start();
-		player.setFitness(player.getWins());
+		String key = getKey(player);
+
+		if (threads == 1 && !seeded) {
+			if (lookUp(player, key))
+				return;
+			Player old = Director.getInstance().getPlayer("GPlayer");
+			Director.getInstance().getTournamentMode().replacePlayer(old, player);
+			replay(Director.getInstance().getDealer());
+			Director.getInstance().getTournamentMode().start();
+			player.setFitness(player.getWins());
+			record(player, key);
+			return;
+		}
+		if (!lookUp(player, key)) {
+			GPlayer leader = key == null ? null : leaders.get(key);
+			if (leader != null) {
+				followers.put(player, leader);
+				cache.countShared();
+			} else {
+				entries.add(player);
+				keys.add(key);
+				if (key != null)
+					leaders.put(key, player);
+			}
+		}
+		if (++entryCount == totalEntries) {
+			entryCount = 0;
+			evaluateEntries();
+		}
+	}
+
+
+	/** Evaluates all collected players on tables of their own. The tables are set up in the order of collection, then
+	 * they are played by the pool of threads. The fitness is cached in the order of collection, and passed on to the
+	 * players sharing an evaluation. */
+	private void evaluateEntries() {
+
+		List<Table> tables = new ArrayList<>(entries.size());
+
+		for (GPlayer player : entries) {
+			TournamentMode mode = getMode(tables.size(), Director.getInstance().split());
+			mode.replacePlayer(mode.getPlayer("GPlayer"), player);
+			replay(mode.getDealer());
+			tables.add(new Table(mode, player));
+		}
+		entries.clear();
+
+		try {
+			if (threads == 1) {
+				for (Table table : tables)
+					table.call();
+			} else {
+				for (Future<Void> result : getExecutor().invokeAll(tables))
+					result.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Evaluation interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Evaluation failed.", e.getCause());
+		}
+		for (int i = 0; i < tables.size(); i++)
+			record(tables.get(i).player, keys.get(i));
+		for (Map.Entry<GPlayer, GPlayer> follower : followers.entrySet())
+			follower.getKey().setFitness(follower.getValue().getFitness());
+		keys.clear();
+		leaders.clear();
+		followers.clear();
+	}
+
+
+	/** Returns a table set up once, whose dealer starts afresh with a random number generator.
+	 *
+	 * @param position	the position of the player in the order of collection
+	 * @param random	the random number generator of the table
+	 *
+	 * @return			the tournament mode of the table
+	 */
+	private TournamentMode getMode(int position, RandomStream random) {
+
+		if (position == modes.size()) {
+			modes.add(Director.getInstance().createTable(random));
+			return modes.get(position);
+		}
+		Dealer dealer = modes.get(position).getDealer();
+		dealer.setTable(new TableContext(dealer, Director.getInstance().getReporter(), random));
+		return modes.get(position);
+	}
+
+
+	/** Returns the pool of threads, which is created on first demand and shut down after the evolution. The threads
+	 * do not prevent the termination of GPoker, if the evolution fails.
+	 *
+	 * @return	the executor
+	 */
+	private ExecutorService getExecutor() {
+
+		if (executor == null) {
+			executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+				public Thread newThread(Runnable task) {
+
+					Thread thread = new Thread(task, "OneSeat");
+					thread.setDaemon(true);
+					return thread;
+				}
+			});
+		}
+		return executor;
+	}
+
+
+	/** Shuts down the pool of threads and releases the tables. */
+	public void shutdown() {
+
+		if (executor != null) {
+			executor.shutdown();
+			executor = null;
+		}
+		modes.clear();
 	}
 
 
@@ -51,4 +221,40 @@ public class OneSeat extends FitnessEvaluator {
 		return "OneSeat";
 	}
 
+
+	/** A table evaluating a single player. */
+	private static class Table implements Callable<Void> {
+
+		/** The tournament mode of the table. */
+		private final TournamentMode mode;
+
+		/** The player to be evaluated. */
+		private final GPlayer player;
+
+
+		/**
+		 * Constructs the table.
+		 *
+		 * @param mode		the tournament mode of the table
+		 * @param player	the player to be evaluated
+		 */
+		Table(TournamentMode mode, GPlayer player) {
+
+			this.mode = mode;
+			this.player = player;
+		}
+
+
+		/** Plays the tournament in the current thread.
+		 *
+		 * @return	nothing
+		 */
+		public Void call() {
+
+			mode.start();
+			player.setFitness(player.getWins());
+			return null;
+		}
+	}
+
 }
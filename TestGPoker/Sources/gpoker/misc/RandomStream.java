@@ -0,0 +1,128 @@
+package gpoker.misc;
+
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * A stream of random numbers backed by a {@code SplittableRandom}. A stream splits off independent streams, which are
+ * handed to tables and workers, so no generator is shared by threads, and all streams are determined by the seed of
+ * the first stream. As it is a {@code Random}, it may be used wherever a generator is expected.
+ * <p>
+ * A stream must not be used by more than one thread at a time.
+ *
+ * @author agent
+ * @since October 17, 2026
+ */
+public class RandomStream extends Random {
+
+	/** The version of the serialized form. */
+	private static final long serialVersionUID = 1L;
+
+	/** The generator of the stream. */
+	private SplittableRandom generator;
+
+
+	/** Constructs a stream with an arbitrary seed. */
+	public RandomStream() {
+
+		this(new SplittableRandom());
+	}
+
+
+	/**
+	 * Constructs a stream with a seed.
+	 *
+	 * @param seed	the seed
+	 */
+	public RandomStream(long seed) {
+
+		this(new SplittableRandom(seed));
+	}
+
+
+	/**
+	 * Constructs a stream with a generator.
+	 *
+	 * @param generator		the generator
+	 */
+	private RandomStream(SplittableRandom generator) {
+
+		this.generator = generator;
+	}
+
+
+	/**
+	 * Splits off an independent stream. The new stream only depends on the state of this stream.
+	 *
+	 * @return	the new stream
+	 */
+	public RandomStream split() {
+
+		return new RandomStream(generator.split());
+	}
+
+
+	/**
+	 * Splits off an independent generator of a generator. A generator not being a stream is seeded by its next number.
+	 *
+	 * @param random	a generator
+	 *
+	 * @return			the new generator
+	 */
+	public static Random split(Random random) {
+
+		if (random instanceof RandomStream)
+			return ((RandomStream)random).split();
+		return new Random(random.nextLong());
+	}
+
+
+	/**
+	 * Sets the seed of the stream.
+	 *
+	 * @param seed	the seed
+	 */
+	public void setSeed(long seed) {
+
+		generator = new SplittableRandom(seed);							// also called by the constructor of Random
+	}
+
+
+	protected int next(int bits) {
+
+		return generator.nextInt() >>> (32 - bits);
+	}
+
+
+	public int nextInt() {
+
+		return generator.nextInt();
+	}
+
+
+	public int nextInt(int bound) {
+
+		if (bound <= 0)
+			throw new IllegalArgumentException("bound must be positive");
+		return generator.nextInt(bound);
+	}
+
+
+	public long nextLong() {
+
+		return generator.nextLong();
+	}
+
+
+	public double nextDouble() {
+
+		return generator.nextDouble();
+	}
+
+
+	public boolean nextBoolean() {
+
+		return generator.nextBoolean();
+	}
+
+}
@@ -1,18 +1,68 @@
 package gpoker.modes;
 
-import gpoker.Director;
 import gpoker.Player;
+import gpoker.misc.Xml;
 import org.jdom2.Element;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
+ * Doyle's Game, where each round is a single hand played with fresh stacks, and the players win the chips won in all
+ * hands.
+ * <p>
+ * With a {@code confidence} the game is raced, i.e., it may stop before all rounds are played. The differences of the
+ * wins per round of each pair of players are tracked online (Welford), and every 100 rounds (after {@code minRounds})
+ * the game stops, if the confidence interval of the mean difference of each pair either excludes 0 (the players are
+ * separated) or lies within plus/minus {@code indifference} chips (the players are indistinguishable). The intervals
+ * are empirical Bernstein bounds (Audibert et al.) for the range of the differences, and the error probability is
+ * split evenly among all pairs and all tests, so the confidence holds for the game, though it is tested repeatedly.
+ * <p>
+ * The wins of an early stopped game are scaled to the number of rounds, so they compare to the wins of a complete
+ * game. Note that the scaling also scales the noise, the scaled wins of a game stopped after {@code played} rounds
+ * deviate by a factor of sqrt(rounds / played) more than the wins of a complete game.
+ *
  * @author Helmut A. Mayer
  * @since March 2016
  */
 public class Doyle extends GameMode {
 
+	/** The number of rounds between two tests for an early stop. */
+	private static final int TEST_INTERVAL = 100;
+
+	/** The rounds played and the rounds to be played by all raced games. */
+	private static final AtomicLong totalPlayed = new AtomicLong(), totalRounds = new AtomicLong();
+
 	/** Indicates if a hand has been played. */
 	private boolean handPlayed;
 
+	/** The confidence of an early stop, 0 if all rounds are played. */
+	private double confidence;
+
+	/** The minimal number of rounds before an early stop. */
+	private int minRounds;
+
+	/** The difference of the wins per round, below which players are indistinguishable. */
+	private double indifference;
+
+	/** The logarithmic term of the bounds, ln(3 / error probability of a pair and a test). */
+	private double log;
+
+	/** The range of the difference of the wins of two players in a round. */
+	private double range;
+
+	/** The number of rounds played in the current game. */
+	private int played;
+
+	/** The wins of the players in the current round. */
+	private int[] wins;
+
+	/** The mean differences of the wins per round of all pairs of players. */
+	private double[] mean;
+
+	/** The sums of the squared deviations from the mean differences. */
+	private double[] squares;
+
 
 	/**
 	 * Constructs Doyle's Game from XML.
@@ -23,14 +73,50 @@ public class Doyle extends GameMode {
 
 		super(element);
 		handPlayed = true;				// prepare for toggle
+		confidence = Xml.getProperty(element, "confidence", 0.0);
+		minRounds = Math.max(1, Xml.getProperty(element, "minRounds", 1000));
+		indifference = Xml.getProperty(element, "indifference", getBigBlind() / 10.0);
+	}
+
+
+	/** Resets the game and the statistics of the wins. */
+	public void reset() {
+
+		int players = dealer.getPlayers().size();
+		int pairs = players * (players - 1) / 2;
+
+		played = 0;
+		wins = new int[players];
+		mean = new double[pairs];
+		squares = new double[pairs];
+		if (confidence > 0.0) {
+			int first = (minRounds + TEST_INTERVAL - 1) / TEST_INTERVAL;				// tests at multiples of the interval
+			int tests = Math.max(1, (rounds - 1) / TEST_INTERVAL - first + 1);
+			log = Math.log(3.0 * Math.max(1, pairs) * tests / (1.0 - confidence));
+			range = 2.0 * players * chipsPerPlayer;									// wins in [-chips, (n-1) chips]
+		}
+		super.reset();
+	}
+
+
+	/** Checks if the pot of an all-in hand may be paid by the equity of the players. As the chips are reset after
+	 * each hand, no player is eliminated.
+	 *
+	 * @return	true
+	 */
+	public boolean isEquityPaid() {
+
+		return true;
 	}
 
 
 	/** Prepares for the next round. */
 	public void resetRound() {
 
-		for (Player player : dealer.getPlayers())
-			player.setChips(chipsPerPlayer);
+		List<Player> players = dealer.getPlayers();
+
+		for (int i = 0, n = players.size(); i < n; i++)
+			players.get(i).setChips(chipsPerPlayer);
 	}
 
 
@@ -45,31 +131,95 @@ public class Doyle extends GameMode {
 	}
 
 
-	/** Adds the chips won or lost to the total wins of the players. */
+	/** Adds the chips won or lost to the total wins of the players, and updates the statistics of the wins. */
 	public void registerRound() {
 
-		for (Player player : dealer.getPlayers()) {
+		List<Player> players = dealer.getPlayers();
+
+		for (int i = 0, n = players.size(); i < n; i++) {
+			Player player = players.get(i);
 			int win = player.getChips() - chipsPerPlayer;
 			player.addWin(win);
+			wins[i] = win;
+		}
+		++played;
+		if (confidence > 0.0) {
+			for (int i = 0, k = 0; i < wins.length; i++) {
+				for (int j = i + 1; j < wins.length; j++, k++) {
+					double delta = wins[i] - wins[j] - mean[k];
+					mean[k] += delta / played;
+					squares[k] += delta * (wins[i] - wins[j] - mean[k]);
+				}
+			}
 		}
-
 	}
 
 
-	/** Checks if all rounds (hands) have been played.
+	/** Checks if all rounds (hands) have been played, or if a raced game may stop early. When stopping early, the
+	 * wins of the players are scaled to the number of rounds.
 	 *
 	 * @return	true, if no more rounds
 	 */
 	public boolean isGameOver() {
 
+		if (confidence > 0.0 && played >= minRounds && played < rounds && played % TEST_INTERVAL == 0 && isDecided()) {
+			for (Player player : dealer.getPlayers())
+				player.setWins((int)Math.round((double)player.getWins() * rounds / played));
+			return true;
+		}
 		return currentRound++ == rounds;
 	}
 
 
+	/** Checks if the confidence intervals of all pairs of players separate them or show them indistinguishable.
+	 *
+	 * @return	true, if all pairs are decided
+	 */
+	private boolean isDecided() {
+
+		for (int k = 0; k < mean.length; k++) {
+			double bound = Math.sqrt(2.0 * squares[k] / played * log / played) + 3.0 * range * log / played;
+			if (Math.abs(mean[k]) <= bound && Math.abs(mean[k]) + bound >= indifference)
+				return false;
+		}
+		return true;
+	}
+
+
 	/** Does some housekeeping after a game has been completed. */
 	public void registerGame() {
 
-		Director.getInstance().getReporter().reportPostGame("chip");
+		if (confidence > 0.0) {
+			totalPlayed.addAndGet(played);
+			totalRounds.addAndGet(rounds);
+		}
+		dealer.getTable().getReporter().reportPostGame(dealer, "chip");
+		dealer.getTable().getReporter().reportRounds(played, rounds);
+	}
+
+
+	/** Returns the number of rounds played in the current or last game.
+	 *
+	 * @return	the rounds played
+	 */
+	public int getRoundsPlayed() {
+
+		return played;
+	}
+
+
+	/** Returns the statistics of all raced games.
+	 *
+	 * @return	a string, null if no game has been raced
+	 */
+	public static String getRacingStatistics() {
+
+		long rounds = totalRounds.get();
+
+		if (rounds == 0)
+			return null;
+		return String.format("Racing: %d of %d rounds played (%.1f%%)", totalPlayed.get(), rounds,
+				100.0 * totalPlayed.get() / rounds);
 	}
 
 
@@ -100,7 +250,7 @@ public class Doyle extends GameMode {
 	 */
 	public String toString() {
 
-		return "Doyle's Game" + super.toString();
+		return "Doyle's Game" + super.toString() + (confidence > 0.0 ? " raced with confidence " + confidence : "");
 	}
 
 }
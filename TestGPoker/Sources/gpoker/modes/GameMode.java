@@ -1,7 +1,6 @@
 package gpoker.modes;
 
 import gpoker.Dealer;
-import gpoker.Director;
 import gpoker.Player;
 import gpoker.misc.Utilities;
 import gpoker.misc.Xml;
@@ -38,7 +37,6 @@ public abstract class GameMode {
 		rounds = 1;
 		chipsPerPlayer = 1000;
 		bigBlind = 20;
-		dealer = Director.getInstance().getDealer();
 	}
 
 
@@ -51,7 +49,6 @@ public abstract class GameMode {
 		rounds = Xml.getProperty(element, "rounds", 1);
 		chipsPerPlayer = Xml.getProperty(element, "chipsPerPlayer", 1000);
 		bigBlind = Xml.getProperty(element, "bigBlind", 20);
-		dealer = Director.getInstance().getDealer();
 	}
 
 
@@ -72,6 +69,26 @@ public abstract class GameMode {
 	}
 
 
+	/** Returns the dealer.
+	 *
+	 * @return	the dealer playing this mode
+	 */
+	public Dealer getDealer() {
+
+		return dealer;
+	}
+
+
+	/** Sets the dealer. This is done by the dealer, when it gets this mode.
+	 *
+	 * @param dealer	the dealer playing this mode
+	 */
+	public void setDealer(Dealer dealer) {
+
+		this.dealer = dealer;
+	}
+
+
 	/** Returns the number of rounds.
 	 *
 	 * @return	the rounds of the game
@@ -82,6 +99,16 @@ public abstract class GameMode {
 	}
 
 
+	/** Returns the chips per player at the start of a round.
+	 *
+	 * @return	the chips per player
+	 */
+	public int getChipsPerPlayer() {
+
+		return chipsPerPlayer;
+	}
+
+
 	/** Returns the big blind.
 	 *
 	 * @return	the chips needed for big blind
@@ -92,6 +119,18 @@ public abstract class GameMode {
 	}
 
 
+	/** Checks if the pot of an all-in hand may be paid by the equity of the players. A player paid by equity hardly
+	 * ever loses all the chips, so this must not be done, if players are eliminated. This default implementation
+	 * returns false.
+	 *
+	 * @return	true, if equity may be paid
+	 */
+	public boolean isEquityPaid() {
+
+		return false;
+	}
+
+
 	/** Sets the current round to 0, resets wins of players, resets the round and reports pre game information. */
 	public void reset() {
 
@@ -100,7 +139,7 @@ public abstract class GameMode {
 			player.setWins(0);
 
 		resetRound();
-		Director.getInstance().getReporter().reportPreGame(this);
+		dealer.getTable().getReporter().reportPreGame(this);
 	}
 
 
@@ -3,13 +3,27 @@ package gpoker.modes;
 import gpoker.Dealer;
 import gpoker.Director;
 import gpoker.Player;
+import gpoker.misc.RandomStream;
 import gpoker.misc.Xml;
 import org.jdom2.Element;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
- * The round robin tournament.
+ * The round robin tournament. Each combination of players of table size plays a game, so with two players per table
+ * each player plays against each other.
+ * <p>
+ * With more than one thread the games are scheduled in rounds of games having no player in common. The games of a
+ * round are played in parallel at tables of their own, and the results are registered in the order of the games
+ * after the round, so they do not depend on the number of threads.
  *
  * @author Helmut A. Mayer
  * @since June 13, 2016
@@ -19,6 +33,9 @@ public class RoundRobin extends TournamentMode {
 	/** The number of players in a game. */
 	private int playersPerTable;
 
+	/** The number of threads playing games in parallel. */
+	private int threads;
+
 	/** The win matrix. */
 	private int[][] wins;
 
@@ -32,46 +49,159 @@ public class RoundRobin extends TournamentMode {
 
 		super(element);
 		playersPerTable = Xml.getProperty(element, "PlayersPerTable", 2);
+		threads = Math.max(1, Xml.getProperty(element, "threads", 1));
 	}
 
 
-	/** Conducts a round robin tournament. Each player plays against each other.
+	/** Conducts a round robin tournament. Each combination of players plays a game.
 	 */
 	public void start() {
 
 		int size = players.size();
 		wins = new int[size][size];
+		List<int[]> games = getGames(size, Math.min(playersPerTable, size));
+
+		if (threads == 1) {
+			for (int[] game : games) {
+				playGame(dealer, game);
+				registerGame(game);
+			}
+		} else
+			playParallel(games);
+
+		dealer.getTable().getReporter().reportTournament(this);
+	}
+
+
+	/** Returns all combinations of a number of players in lexicographic order.
+	 *
+	 * @param size		the number of players
+	 * @param seats		the number of players in a game
+	 *
+	 * @return			the games, each given by the player indices
+	 */
+	private static List<int[]> getGames(int size, int seats) {
+
+		List<int[]> games = new ArrayList<>();
+		int[] game = new int[seats];
+
+		for (int i = 0; i < seats; i++)
+			game[i] = i;
+		while (seats > 0) {
+			games.add(game.clone());
+			int i = seats - 1;
+			while (i >= 0 && game[i] == size - seats + i)
+				--i;
+			if (i < 0)
+				break;													// last combination
+			++game[i];
+			for (int j = i + 1; j < seats; j++)
+				game[j] = game[j - 1] + 1;
+		}
+		return games;
+	}
+
+
+	/** Plays the games in rounds of games without common players. The games of a round are played in parallel at
+	 * tables of their own, whose decks are seeded in the order of the games.
+	 *
+	 * @param games		all the games
+	 */
+	private void playParallel(List<int[]> games) {
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		List<int[]> open = new LinkedList<>(games);
+
+		try {
+			while (!open.isEmpty()) {
+				List<int[]> round = nextRound(open);
+				List<Callable<Void>> tables = new ArrayList<>(round.size());
+
+				for (final int[] game : round) {
+					Random random = RandomStream.split(dealer.getTable().getRandom());
+					final Dealer table = Director.getInstance().createDealer(random);
+					tables.add(new Callable<Void>() {
+						public Void call() {
+
+							playGame(table, game);
+							return null;
+						}
+					});
+				}
+				for (Future<Void> result : pool.invokeAll(tables))
+					result.get();
+				for (int[] game : round)
+					registerGame(game);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Tournament interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Tournament game failed.", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
 
-		for (int i = 0; i < size; i++) {
-			for (int j = i + 1; j < size; j++)
-				playGame(i, j);
+	/** Removes the next round of games from the open games. The games of a round have no player in common.
+	 *
+	 * @param open		the games not played yet
+	 *
+	 * @return			the games of the round
+	 */
+	private List<int[]> nextRound(List<int[]> open) {
+
+		List<int[]> round = new ArrayList<>();
+		boolean[] busy = new boolean[players.size()];
+		Iterator<int[]> it = open.iterator();
+
+		while (it.hasNext()) {
+			int[] game = it.next();
+			boolean free = true;
+			for (int p : game)
+				free &= !busy[p];
+			if (free) {
+				for (int p : game)
+					busy[p] = true;
+				round.add(game);
+				it.remove();
+			}
 		}
-		Director.getInstance().getReporter().reportTournament(this);
+		return round;
 	}
 
 
-	/** Plays a game between two players and records the outcome.
+	/** Plays a game between a number of players.
 	 *
-	 * @param a        the first player index
-	 * @param b        the second player index
+	 * @param table		the dealer of the table
+	 * @param game		the player indices
 	 *
 	 */
-	private void playGame(int a, int b) {
-
-		Dealer dealer = Director.getInstance().getDealer();
-		List<Player> table = dealer.getPlayers();
-		table.clear();
-		Player pa = players.get(a); 					// first player
-		Player pb = players.get(b);	 					// second player
-
-		dealer.addPlayer(pa);
-		dealer.addPlayer(pb);
-		dealer.start();									// play game
-
-		wins[a][b] = pa.getWins();
-		pa.setSuccess(pa.getSuccess() + pa.getWins());
-		wins[b][a] = pb.getWins();
-		pb.setSuccess(pb.getSuccess() + pb.getWins());
+	private void playGame(Dealer table, int[] game) {
+
+		table.getPlayers().clear();
+		for (int p : game)
+			table.addPlayer(players.get(p));
+		table.start();									// play game
+	}
+
+
+	/** Records the outcome of a game. The wins of a player are added to its success and to the win matrix for each
+	 * opponent at the table.
+	 *
+	 * @param game		the player indices
+	 */
+	private void registerGame(int[] game) {
+
+		for (int a : game) {
+			Player pa = players.get(a);
+			pa.setSuccess(pa.getSuccess() + pa.getWins());
+			for (int b : game) {
+				if (b != a)
+					wins[a][b] += pa.getWins();
+			}
+		}
 	}
 
 
@@ -1,6 +1,5 @@
 package gpoker.modes;
 
-import gpoker.Director;
 import gpoker.Player;
 import org.jdom2.Element;
 
@@ -72,7 +71,7 @@ public class SitAndGo extends GameMode {
 	/** Reports on the success of the players in the game. */
 	public void registerGame() {
 
-		Director.getInstance().getReporter().reportPostGame("SitNGo");
+		dealer.getTable().getReporter().reportPostGame(dealer, "SitNGo");
 	}
 
 
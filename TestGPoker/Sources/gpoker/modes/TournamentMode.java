@@ -1,7 +1,6 @@
 package gpoker.modes;
 
 import gpoker.Dealer;
-import gpoker.Director;
 import gpoker.Player;
 import gpoker.misc.Utilities;
 import gpoker.misc.Xml;
@@ -37,7 +36,6 @@ public abstract class TournamentMode {
 	public TournamentMode(int rounds) {
 
 		this.rounds = rounds;
-		dealer = Director.getInstance().getDealer();
 	}
 
 
@@ -69,6 +67,26 @@ public abstract class TournamentMode {
 	}
 
 
+	/** Returns the dealer of the tournament.
+	 *
+	 * @return	the dealer
+	 */
+	public Dealer getDealer() {
+
+		return dealer;
+	}
+
+
+	/** Sets the dealer of the tournament.
+	 *
+	 * @param dealer	the dealer
+	 */
+	public void setDealer(Dealer dealer) {
+
+		this.dealer = dealer;
+	}
+
+
 	/** Returns the players in the tournament.
 	 *
 	 * @return	the players
@@ -79,6 +97,23 @@ public abstract class TournamentMode {
 	}
 
 
+	/**
+	 * Checks if a specific player takes part in the tournament.
+	 *
+	 * @param className		the unqualified class name of a player
+	 *
+	 * @return				the player with the class name, null if none
+	 */
+	public Player getPlayer(String className) {
+
+		for (Player p : players) {
+			if (p.getClass().getName().contains(className))
+				return p;
+		}
+		return null;
+	}
+
+
 	/**
 	 * Adds a player to the tournament roster.
 	 *
@@ -53,7 +53,7 @@ public class CallPlayer extends Player {
 	 */
 	public Move act() {
 
-		return new Move(Move.CALL);
+		return getMove(Move.CALL);
 	}
 
 }
@@ -51,7 +51,7 @@ public class CheckPlayer extends Player {
 	 * @return	a CHECK move
 	 */
 	public Move act() {
-		return new Move(Move.CHECK);
+		return getMove(Move.CHECK);
 	}
 
 }
\ No newline at end of file
@@ -4,9 +4,15 @@ import evSOLve.JEvolution.gp.ProgramNode;
 import evSOLve.JEvolution.gp.Tree;
 import gpoker.*;
 import gpoker.gp.Coder;
+import gpoker.gp.PolicyTable;
+import gpoker.gp.Program;
+import gpoker.gp.Simplifier;
+import gpoker.gp.TieredProgram;
 import gpoker.misc.Xml;
 import org.jdom2.Element;
 
+import java.util.Arrays;
+
 /**
  * The CodePlayer is playing according to a program tree. The program tree is specified in an XML file. The first
  * option is that it is in a {@code codeFile}, which holds a single player with its tree. If this XML tag is not given,
@@ -18,10 +24,19 @@ import org.jdom2.Element;
  */
 public class CodePlayer extends Player {
 
+	/** The number of standard input features. */
+	public static final int NUMBER_OF_FEATURES = 10;
+
+	/** The number of input features with hand strength and potentials enabled. */
+	public static final int NUMBER_OF_STRENGTH_FEATURES = NUMBER_OF_FEATURES + HandStrength.NUMBER_OF_METRICS;
+
 	/** The program tree. */
 	protected Tree program;
 
-	/** The input features. */
+	/** The program tree translated for fast evaluation, null if the tree cannot be translated. */
+	protected Program code;
+
+	/** The input features followed by the register for the pot factor of the compiled program. */
 	private double[] features;
 
 	/** The next stage. */
@@ -31,16 +46,36 @@ public class CodePlayer extends Player {
 	/**
 	 * Creates the code player via XML. The code may be in a file with a single GPlayer entry, or in a culture file
 	 * with multiple GPlayer entries. In the latter case, an index points to the single code player.
+	 * <p>
+	 * With the XML tag {@code policyTable} the player plays by a table of its program, which is saved beside the code
+	 * file. A table of a single program, which is up to date, is loaded without parsing the program.
 	 *
 	 * @param element	an XML player element
 	 */
 	public CodePlayer(Element element) {
 
 		super(element);
-		program = Coder.createProgram(Xml.getProperty(element, "codeFile", null));
-		if (program == null)
-			Coder.createProgram(Xml.getProperty(element, "codeFile", null), Xml.getProperty(element, "index", 0), this);
-		features = new double[10];
+		features = new double[getNumberOfFeatures() + 1];
+		String codeFile = Xml.getProperty(element, "codeFile", null);
+		int[] grid = PolicyTable.parseGrid(Xml.getProperty(element, "policyTable", null));
+		if (codeFile != null && grid != null) {
+			code = PolicyTable.load(codeFile + ".policy", codeFile, grid);
+			if (code != null)
+				return;
+		}
+
+		setProgram(Coder.createProgram(codeFile));
+		String policyFile = codeFile + ".policy";
+		if (program == null) {
+			int index = Xml.getProperty(element, "index", 0);
+			Coder.createProgram(codeFile, index, this);
+			policyFile = codeFile + "." + index + ".policy";
+		}
+		if (program != null && grid != null) {
+			Program table = PolicyTable.create(policyFile, codeFile, grid, program);
+			if (table != null)
+				code = table;
+		}
 	}
 
 
@@ -51,8 +86,33 @@ public class CodePlayer extends Player {
 	public CodePlayer(Tree tree) {
 
 		super("Tree", 0);
-		program = tree;
-		features = new double[10];
+		setProgram(tree);
+		features = new double[getNumberOfFeatures() + 1];
+	}
+
+
+	/** Constructs the player with a translated program only, e.g., a policy table. The player has no program tree.
+	 *
+	 * @param code	a translated program
+	 */
+	public CodePlayer(Program code) {
+
+		super("Tree", 0);
+		this.code = code;
+		features = new double[getNumberOfFeatures() + 1];
+	}
+
+
+	/**
+	 * Returns a clone with its own input features, so clones may play at different tables at the same time.
+	 *
+	 * @return the cloned player
+	 */
+	protected Object clone() {
+
+		CodePlayer clone = (CodePlayer)super.clone();
+		clone.features = new double[getNumberOfFeatures() + 1];
+		return clone;
 	}
 
 
@@ -66,13 +126,36 @@ public class CodePlayer extends Player {
 	}
 
 
-	/** Sets the program tree.
+	/** Returns the program tree translated for fast evaluation.
+	 *
+	 * @return	the translated program, null if the tree cannot be translated
+	 */
+	public Program getCode() {
+
+		return code;
+	}
+
+
+	/** Sets the program tree and translates it. The program is simplified and flattened, and compiled, when it is
+	 * played long enough.
 	 *
 	 * @param tree	a program tree
 	 */
 	public void setProgram(Tree tree) {
 
 		program = tree;
+		code = TieredProgram.create(Simplifier.simplify(tree, getNumberOfFeatures()), getNumberOfFeatures());
+	}
+
+
+	/** Returns the number of input features, which includes hand strength and potentials, if enabled in
+	 * {@code HandStrength}.
+	 *
+	 * @return	the number of features
+	 */
+	public static int getNumberOfFeatures() {
+
+		return HandStrength.isEnabled() ? NUMBER_OF_STRENGTH_FEATURES : NUMBER_OF_FEATURES;
 	}
 
 
@@ -102,49 +185,66 @@ public class CodePlayer extends Player {
 	 */
 	public Move act() {
 
-		Dealer dealer = Director.getInstance().getDealer();
+		Dealer dealer = table.getDealer();
+		DecisionContext context = dealer.getContext();
 
-		if (dealer.getStage() != prevStage) {
-			int handValue = dealer.evaluate(getHand());
+		if (context.getStage() != prevStage) {
+			int handValue = context.getHandValue();
 			features[2] = (double)handValue / Hand.STRAIGHT_FLUSH;                          // hand value var2
-			features[5] = (double)dealer.getStage() / Dealer.RIVER;							// stage value var5
-			Card pivot = dealer.getEvaluator().getPivot(getHand(), dealer.getCommunity());
+			features[5] = (double)context.getStage() / Dealer.RIVER;							// stage value var5
+			Card pivot = context.getPivot();
 			features[8] = (double)pivot.getRank() / (double)Card.ACE;						// pivot value var8
 
-			if (dealer.getStage() == Dealer.PRE_FLOP) {
-				if (!getHand().isSorted())                                                  // hand is hole cards
-					getHand().sort();
-				features[0] = getHand().getCards().get(0).getRank() / (double)Card.ACE;        // high hole var0
-				features[1] = getHand().getCards().get(1).getRank() / (double)Card.ACE;        // low hole var1
-				int pos = dealer.getPosition(this);
+			if (context.getStage() == Dealer.PRE_FLOP) {
+				long holeCards = getHand().getCardSet().getBits();                           // hand is hole cards
+				features[0] = CardSet.getHighRank(holeCards) / (double)Card.ACE;             // high hole var0
+				features[1] = CardSet.getLowRank(holeCards) / (double)Card.ACE;              // low hole var1
+				int pos = context.getPosition();
 				if (pos == -1)
 					System.out.println("Panic! Illegal position.");
 				features[6] = (double)pos;                                                    // pos value var6
 				features[7] = (double)Hand.NOT_EVALUATED / (double)Hand.STRAIGHT_FLUSH;        // comm value var7
 			} else {
-				double communityValue = dealer.getEvaluator().evaluate(dealer.getCommunity());
+				double communityValue = context.getCommunityValue();
 				features[7] = communityValue / (double)Hand.STRAIGHT_FLUSH;                // comm value var7
 			}
+			if (HandStrength.isEnabled()) {
+				features[10] = context.getStrength();										// hand strength var10
+				features[11] = context.getPositivePotential();							// positive potential var11
+				features[12] = context.getNegativePotential();							// negative potential var12
+			}
 		}
-		int chips = dealer.getTotalChips();
-		features[3] = (double)dealer.getPot() / (double)chips;						// pot value var3
+		int chips = context.getTotalChips();
+		features[3] = (double)context.getPot() / (double)chips;						// pot value var3
 
-		int callBet = dealer.getCallBet(this);
+		int callBet = context.getCallBet();
 		if (callBet < 0)
 			System.out.println("Panic! Illegal call bet.");
 		features[4] = (double)callBet / (double)chips; 								// bet value var4
 		chips /= dealer.getPlayers().size();									    // max stack
 		features[9] = (double)getChips() / (double)chips;							// stack value var9
 
-		prevStage = dealer.getStage();
+		prevStage = context.getStage();
 //		System.out.println("Stage = " + prevStage + ", " + Arrays.toString(features));
-		for (double feature : features)
-			ProgramNode.addValue(feature);
-
-		ProgramNode root = (ProgramNode)program.getRoot();
-		Move move = ((Move)root.eval()).clone();						// evaluate the program, clone() is important!
-		ProgramNode.clearValues();                                        		// reset variable values
-
+		Move move;
+		if (code != null) {
+			if (features.length < code.getRegisters())
+				features = Arrays.copyOf(features, code.getRegisters());				// room for the program stack
+			move = getMove(code.eval(features));										// evaluate the translated program
+			move.setPotFactor(features[getNumberOfFeatures()]);
+		} else {
+			move = getMove(Move.FOLD);
+			synchronized (ProgramNode.class) {									// variable values are static
+				for (int i = 0, n = getNumberOfFeatures(); i < n; i++)
+					ProgramNode.addValue(features[i]);
+
+				ProgramNode root = (ProgramNode)program.getRoot();
+				move.set((Move)root.eval());						// evaluate the program, copying is important!
+				ProgramNode.clearValues();                                        		// reset variable values
+			}
+		}
+		if (move.getType() == Move.RAISE)
+			move.setBet((int)(move.getPotFactor() * context.getPot()));
 		return move;
 	}
 }
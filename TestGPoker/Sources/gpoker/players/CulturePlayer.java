@@ -3,6 +3,7 @@ package gpoker.players;
 import gpoker.Move;
 import gpoker.Player;
 import gpoker.gp.Coder;
+import gpoker.gp.PolicyTable;
 import gpoker.misc.Xml;
 import org.jdom2.Element;
 
@@ -49,8 +50,9 @@ public class CulturePlayer extends CodePlayer {
 		super(element);
 		culture = new PriorityQueue<>(11, Collections.<Player>reverseOrder());
 		List<Element> cfe = element.getChildren("cultureFile");
+		int[] grid = PolicyTable.parseGrid(Xml.getProperty(element, "policyTable", null));
 		for (Element e : cfe)
-			Coder.createCulture(e.getText(), culture);
+			Coder.createCulture(e.getText(), culture, grid);
 		selectMode = Xml.getProperty(element, "selectMode", EXP);
 		dissect = Xml.getProperty(element, "dissect", false);
 		if (!dissect)
@@ -108,6 +110,7 @@ public class CulturePlayer extends CodePlayer {
 	public Move act() {
 
 		program = ((CodePlayer)master).getProgram();							// load the program
+		code = ((CodePlayer)master).getCode();
 		return super.act();
 	}
 
@@ -136,7 +139,7 @@ public class CulturePlayer extends CodePlayer {
 	private Player getExpRankMaster() {
 
 		double factor = getExpRankFactor();
-		double r = Math.random();
+		double r = table.getRandom().nextDouble();
 		int k = 0;
 		double p = 0.0;
 
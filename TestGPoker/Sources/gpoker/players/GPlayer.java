@@ -1,8 +1,12 @@
 package gpoker.players;
 
+import evSOLve.JEvolution.JEvolution;
 import evSOLve.JEvolution.Phenotype;
 import evSOLve.JEvolution.chromosomes.Chromosome;
 import evSOLve.JEvolution.gp.Tree;
+import gpoker.gp.Coder;
+import gpoker.gp.FlatProgram;
+import gpoker.gp.Simplifier;
 import gpoker.gp.fitness.FitnessEvaluator;
 import gpoker.misc.Xml;
 import org.jdom2.Element;
@@ -24,6 +28,15 @@ public class GPlayer extends CodePlayer implements Phenotype {
 	/** The player's fitness. */
 	private double fitness;
 
+	/** The generation of the programs simplified. */
+	private static int generation = -1;
+
+	/** The number of programs simplified in the generation. */
+	private static int programs;
+
+	/** The number of nodes of the programs before and after simplification. */
+	private static long nodes, simplifiedNodes;
+
 
 	/**
 	 * Creates the player via XML.
@@ -92,13 +105,57 @@ public class GPlayer extends CodePlayer implements Phenotype {
 
 
 	/**
-	 * The genotype-phenotype mapper only has to obtain the program tree, which is genotype and phenotype.
+	 * The genotype-phenotype mapper only has to obtain the program tree, which is genotype and phenotype. Pending
+	 * mutations of variables are settled here, so the fitness evaluation does not consume random numbers of the evolution.
+	 * Then a simplified clone of the tree is flattened for play, which is much cheaper than compiling it, as the
+	 * program is only played for a single fitness evaluation.
 	 *
 	 * @param genotype the tree chromosome
 	 */
 	public void doOntogeny(List<Chromosome> genotype) {
 
 		program = (Tree)genotype.get(0).getBases();
+		int variables = getNumberOfFeatures();
+		Coder.settleVariables(program, variables);
+		Tree simplified = Simplifier.simplify(program, variables);
+		code = FlatProgram.flatten(simplified, variables);
+		countSimplification(program.size(), simplified.size());
+	}
+
+
+	/**
+	 * Counts the sizes of a program before and after simplification. The sizes of the previous generation are
+	 * reported, when a new generation starts.
+	 *
+	 * @param size			the number of nodes of the program
+	 * @param simplified	the number of nodes of the simplified program
+	 */
+	private static synchronized void countSimplification(int size, int simplified) {
+
+		int current = JEvolution.getInstance().getGenerationCount();
+
+		if (current != generation) {
+			reportSimplification();
+			generation = current;
+		}
+		programs++;
+		nodes += size;
+		simplifiedNodes += simplified;
+	}
+
+
+	/**
+	 * Reports the tree size reduction by simplification of the programs counted since the last report.
+	 */
+	public static synchronized void reportSimplification() {
+
+		if (programs > 0) {
+			System.out.printf("Simplification: %d programs, %d nodes -> %d nodes (%.1f%% less)%n", programs, nodes,
+					simplifiedNodes, 100.0 * (nodes - simplifiedNodes) / nodes);
+		}
+		programs = 0;
+		nodes = 0;
+		simplifiedNodes = 0;
 	}
 
 
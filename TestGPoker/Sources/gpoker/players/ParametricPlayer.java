@@ -129,7 +129,7 @@ public class ParametricPlayer extends Player {
      * @return the CALL move
      */
     public Move act() {
-        Dealer dealer = Director.getInstance().getDealer();
+        Dealer dealer = table.getDealer();
         Player player = getPlayerWithName("Darwin");
 
         // do nothing in Darwin's first move
@@ -177,7 +177,7 @@ public class ParametricPlayer extends Player {
      * @return a player, or null 
      */
     private Player getPlayerWithName(String name) {
-        for (Player player : Director.getInstance().getDealer().getPlayers()) {
+        for (Player player : table.getDealer().getPlayers()) {
             if (player.getName().equals(name))
                 return player;
         }
@@ -3,6 +3,8 @@ package gpoker.players;
 import gpoker.*;
 import org.jdom2.Element;
 
+import java.util.List;
+
 /**
  * The PatternPlayer is a player who analyzes his hole cards and evaluates what kind of hand he has (including community cards)
  * and acts upon this knowledge.
@@ -59,11 +61,12 @@ public class PatternPlayer extends Player {
 	public Move act() {
 
 		double cardValue = 0.0;
+		List<Card> cards = getCards();
 
-		for (Card card : getCards())
-			cardValue += ((double)card.getRank()) / ((double)Card.ACE);
+		for (int i = 0, n = cards.size(); i < n; i++)
+			cardValue += ((double)cards.get(i).getRank()) / ((double)Card.ACE);
 
-		double handValue = Director.getInstance().getDealer().evaluate(getHand());
+		double handValue = table.getDealer().getContext().getHandValue();
 
 		if (handValue == Hand.HIGH_CARD)
 			handValue = 0.5;
@@ -76,7 +79,7 @@ public class PatternPlayer extends Player {
 		handValue *= 0.2;
 		
 		value = cardValue + handValue;
-		Move move = new Move(Move.FOLD);
+		Move move = getMove(Move.FOLD);
 
 		if (value < 0.2)
 			;                            	// on purpose
@@ -53,8 +53,8 @@ public class RandomPlayer extends Player {
 	 */
 	public Move act() {
 
-		Move move = new Move(Move.FOLD);
-		int type = (int)(Math.random() * 3) + 1;				// CHECK, CALL, and RAISE
+		Move move = getMove(Move.FOLD);
+		int type = table.getRandom().nextInt(3) + 1;				// CHECK, CALL, and RAISE
 		move.setType(type);
 		if (type == Move.RAISE)
 			move.setBet(getBet());
@@ -70,7 +70,7 @@ public class RandomPlayer extends Player {
 	 */
 	private int getBet() {
 
-		return (int)(getChips() * Math.random());
+		return (int)(getChips() * table.getRandom().nextDouble());
 	}
 
 }
@@ -24,7 +24,9 @@ public class TDPlayer extends Player {
 	private ArrayList<Double> target; // output value
 
 	// remember input values of last stage for TD
-	private double[] lastInput = new double[7];
+	private double[] lastInput;
+	// hand strength and potentials as further inputs, if enabled in HandStrength
+	private double[] strength;
 	// remember output/reward of current stage
 	private double Q1;
 	public double discount = 1.0;
@@ -72,15 +74,18 @@ public class TDPlayer extends Player {
 	 * Code which should be executed in both constructors
 	 */
 	private void constructorHelper() {
-		pattern = new double[7];
-		net = NetFactory.createFeedForward(new int[]{7, 7, 7, 1}, false, null, new BackpropTrainer(), null, null);
+		strength = new double[HandStrength.isEnabled() ? HandStrength.NUMBER_OF_METRICS : 0];
+		int inputs = 7 + strength.length;
+		pattern = new double[inputs];
+		lastInput = new double[inputs];
+		net = NetFactory.createFeedForward(new int[]{inputs, 7, 7, 1}, false, null, new BackpropTrainer(), null, null);
 		net.getOutputNeuron(0).setActivationFn(new Function.Identity());
 		net.getOutputNeuron(0).setUsingBias(false);
 
 		trainer = (BackpropTrainer) net.getTrainer();
 		trainer.setLearnRate(0.2);
 		set = new PatternSet();
-		input = new ArrayList<Double>(7);
+		input = new ArrayList<Double>(inputs);
 		target = new ArrayList<Double>(1); // output value
 
 		set.getInputs().add(input); // add input pattern
@@ -108,12 +113,17 @@ public class TDPlayer extends Player {
 	 */
 	public Move act() {
 
-		Dealer dealer = Director.getInstance().getDealer();
-		int totalChips = dealer.getTotalChips();
-		double potPercentageOfMax = (double)dealer.getPot() / (double)totalChips;
+		DecisionContext context = table.getDealer().getContext();
+		int totalChips = context.getTotalChips();
+		double potPercentageOfMax = (double)context.getPot() / (double)totalChips;
 		double chipPercentageOfMax = (double)getChips() / (double)totalChips;
 		double handValue = getHandValue();
 		double output;
+		if (strength.length > 0) {
+			strength[HandStrength.HS] = context.getStrength();
+			strength[HandStrength.PPOT] = context.getPositivePotential();
+			strength[HandStrength.NPOT] = context.getNegativePotential();
+		}
 
 		//reset
 		betSize = 0;
@@ -176,6 +186,7 @@ public class TDPlayer extends Player {
 		lastInput[4] = h;
 		lastInput[5] = p;
 		lastInput[6] = c;
+		System.arraycopy(strength, 0, lastInput, 7, strength.length);
 		if (m == RAISE) {
 			lastInput[m] = betSize;
 		} else 
@@ -200,7 +211,7 @@ public class TDPlayer extends Player {
 //        }
 //
         // non binary reward
-		Q1 = (double)win / (double)Director.getInstance().getDealer().getTotalChips();
+		Q1 = (double)win / (double)table.getDealer().getTotalChips();
                 
 		learn();
 		moveCount = 0;
@@ -231,10 +242,10 @@ public class TDPlayer extends Player {
 
 		// choose a random move instead of choosing
 		// the one with the highest output
-		if (Math.random() < epsilon) {
-			moveNeuron = (int)(Math.random() * 4.0);
+		if (table.getRandom().nextDouble() < epsilon) {
+			moveNeuron = table.getRandom().nextInt(4);
 			if (moveNeuron == RAISE)
-				betSize = ((int)(Math.random() * 4.0) + 1) * 0.25;		// not too pretty
+				betSize = (table.getRandom().nextInt(4) + 1) * 0.25;		// not too pretty
 			return Double.NaN;											// indicate random move
 		}
 		// test every possible move
@@ -269,6 +280,7 @@ public class TDPlayer extends Player {
 		pattern[4] = a;
 		pattern[5] = b;
 		pattern[6] = c; // only one move is selected (1), others are 0
+		System.arraycopy(strength, 0, pattern, 7, strength.length);
 	}
 	
 	/**
@@ -278,7 +290,7 @@ public class TDPlayer extends Player {
 	 * @return GPoker Move that shall be played
 	 */
 	private Move getMove() {
-		Move moveAct = new Move(Move.FOLD);
+		Move moveAct = getMove(Move.FOLD);
 
 		if (moveNeuron == RAISE) {
 			moveAct.setType(Move.RAISE);
@@ -301,7 +313,7 @@ public class TDPlayer extends Player {
 	 */
 	private int getBet() {
 
-		return (int)(Director.getInstance().getDealer().getPot() * betSize);		// standard raise
+		return (int)(table.getDealer().getPot() * betSize);		// standard raise
 	}
 
 
@@ -325,7 +337,7 @@ public class TDPlayer extends Player {
 	 */
 	private double getHandValue() {
 
-		int handValue = Director.getInstance().getDealer().evaluate(getHand());
+		int handValue = table.getDealer().getContext().getHandValue();
 		return (double)handValue / (double)Hand.STRAIGHT_FLUSH;
 	}
 
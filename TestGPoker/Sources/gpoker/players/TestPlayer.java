@@ -2,7 +2,6 @@ package gpoker.players;
 
 import gpoker.*;
 import org.jdom2.Element;
-import java.util.List;
 
 /**
  * The TestPlayer is testing strategies.
@@ -53,39 +52,38 @@ public class TestPlayer extends Player {
 	 */
 	public Move act() {
 
-		Dealer dealer = Director.getInstance().getDealer();
-		hand.sort();
-		List<Card> cards = hand.getCards();
-		int lowCard = cards.get(1).getRank();
-		int highCard = cards.get(0).getRank();
-		int handValue = dealer.evaluate(getHand());
-		int totalChips = dealer.getTotalChips();
-		int potSize = dealer.getPot();
-		int stage = dealer.getStage();
+		DecisionContext context = table.getDealer().getContext();
+		long holeCards = hand.getCardSet().getBits();
+		int lowCard = CardSet.getLowRank(holeCards);
+		int highCard = CardSet.getHighRank(holeCards);
+		int handValue = context.getHandValue();
+		int totalChips = context.getTotalChips();
+		int potSize = context.getPot();
+		int stage = context.getStage();
 		int bet;
 
 		Move move;
 		if(stage == 0){
 			if(lowCard < 10 && highCard != lowCard){
-				move = new Move(Move.CHECK);
+				move = getMove(Move.CHECK);
 			}else{
 				if(highCard == lowCard){
 					if(lowCard >= 8){
-						move = new Move(Move.RAISE);
+						move = getMove(Move.RAISE);
 						if(chips >= 4*potSize)
 							bet = 4*potSize;
 						else
 							bet = chips;
 						move.setBet(bet);
 					}else
-						move = new Move(Move.CALL);
+						move = getMove(Move.CALL);
 				}else{
-					move = new Move(Move.CALL);
+					move = getMove(Move.CALL);
 				}
 			}
 		}else{
 			if(handValue >= Hand.TWO_PAIR){
-				move = new Move(Move.RAISE);
+				move = getMove(Move.RAISE);
 				if(chips >= 4*potSize)
 					bet = 4*potSize;
 				else
@@ -94,12 +92,12 @@ public class TestPlayer extends Player {
 			}else{
 				if(handValue == Hand.ONE_PAIR){
 					if(stage == 1){
-						move = new Move(Move.CALL);
+						move = getMove(Move.CALL);
 					}else{
-						move = new Move(Move.CHECK);
+						move = getMove(Move.CHECK);
 					}
 				}else{
-					move = new Move(Move.CHECK);
+					move = getMove(Move.CHECK);
 				}
 			}
 		}